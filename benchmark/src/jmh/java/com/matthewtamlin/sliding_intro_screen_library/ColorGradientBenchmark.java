@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-frame cost of blending the background colors in {@code
+ * IntroActivity.onPageScrolled(int, float, int)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColorGradientBenchmark {
+	/**
+	 * The number of pages in the simulated intro screen.
+	 */
+	@Param({"3", "30"})
+	public int numberOfPages;
+
+	/**
+	 * The gradient under test.
+	 */
+	private final ColorGradient gradient = new ColorGradient();
+
+	/**
+	 * The scroll positions to step through, simulating one frame each.
+	 */
+	private final float[] offsets = new float[60];
+
+	/**
+	 * The index of the next frame in {@code offsets}.
+	 */
+	private int frame = 0;
+
+	@Setup
+	public void setup() {
+		gradient.setSize(numberOfPages);
+
+		for (int i = 0; i < numberOfPages; i++) {
+			gradient.setColor(i, 0xff000000 | (i * 0x3366cc));
+		}
+
+		for (int i = 0; i < offsets.length; i++) {
+			offsets[i] = (float) i / offsets.length;
+		}
+	}
+
+	@Benchmark
+	public int getColorDuringScroll() {
+		final int position = frame % numberOfPages;
+		final float offset = offsets[frame % offsets.length];
+		frame++;
+
+		return gradient.getColor(position, offset);
+	}
+
+	@Benchmark
+	public int blendDistinctColors() {
+		final float offset = offsets[frame++ % offsets.length];
+		return ColorGradient.blend(0xff3366cc, 0xffcc0066, offset);
+	}
+}
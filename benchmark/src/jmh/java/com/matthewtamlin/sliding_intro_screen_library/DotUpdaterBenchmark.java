@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of updating the dots of {@code SelectionIndicator} when a page is selected
+ * and on every frame of a scroll. The cost should not depend on the number of pages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DotUpdaterBenchmark {
+	/**
+	 * The number of pages in the simulated intro screen.
+	 */
+	@Param({"3", "30"})
+	public int numberOfPages;
+
+	/**
+	 * Records the dot updates, so that they cannot be skipped.
+	 */
+	private final CountingDots dots = new CountingDots();
+
+	/**
+	 * The updater under test.
+	 */
+	private final DotUpdater updater = new DotUpdater(dots);
+
+	/**
+	 * The scroll offsets to step through, simulating one frame each.
+	 */
+	private final float[] offsets = new float[60];
+
+	/**
+	 * The index of the next frame in {@code offsets}.
+	 */
+	private int frame = 0;
+
+	@Setup
+	public void setup() {
+		updater.reset(numberOfPages, 0);
+
+		for (int i = 0; i < offsets.length; i++) {
+			offsets[i] = (float) i / offsets.length;
+		}
+	}
+
+	@Benchmark
+	public int setActiveItem() {
+		updater.setActiveItem(frame++ % numberOfPages, false);
+		return dots.checksum;
+	}
+
+	@Benchmark
+	public int setScrollPosition() {
+		final int position = (frame / offsets.length) % numberOfPages;
+		final float offset = offsets[frame % offsets.length];
+		frame++;
+
+		updater.setScrollPosition(position, offset);
+		return dots.checksum;
+	}
+
+	/**
+	 * Dots which only record that they were updated.
+	 */
+	private static final class CountingDots implements DotUpdater.Dots {
+		/**
+		 * A value derived from every update.
+		 */
+		private int checksum;
+
+		@Override
+		public void setActive(final int index, final boolean animate) {
+			checksum += index + 1;
+		}
+
+		@Override
+		public void setInactive(final int index, final boolean animate) {
+			checksum -= index + 1;
+		}
+
+		@Override
+		public void setActiveFraction(final int index, final float activeFraction) {
+			checksum += index * Float.floatToRawIntBits(activeFraction);
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of the metrics recorded on every frame of a scroll, and of summarising them
+ * when a scroll finishes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DurationHistogramBenchmark {
+	/**
+	 * The histogram under test.
+	 */
+	private final DurationHistogram histogram = new DurationHistogram();
+
+	/**
+	 * Frame durations around 16ms with occasional long frames, as recorded while scrolling.
+	 */
+	private final long[] durations = new long[1024];
+
+	/**
+	 * The index of the next duration to record.
+	 */
+	private int index = 0;
+
+	@Setup
+	public void setup() {
+		final Random random = new Random(0);
+
+		for (int i = 0; i < durations.length; i++) {
+			final boolean longFrame = random.nextInt(20) == 0;
+			durations[i] = (longFrame ? 50000000L : 16666667L) + random.nextInt(2000000);
+		}
+
+		for (final long duration : durations) {
+			histogram.record(duration);
+		}
+	}
+
+	@Benchmark
+	public void record() {
+		histogram.record(durations[index++ & (durations.length - 1)]);
+	}
+
+	@Benchmark
+	public long getPercentile() {
+		return histogram.getPercentileNanos(99);
+	}
+}
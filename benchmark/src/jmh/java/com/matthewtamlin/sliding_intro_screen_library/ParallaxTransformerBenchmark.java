@@ -0,0 +1,130 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.view.View;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-frame cost of {@code ParallaxTransformer.transformPage(View, float)}, using
+ * minimal stand-ins for the platform views. The {@code ViewPager} transforms every attached page
+ * on every frame of a scroll, so the three pages around the current item are transformed each
+ * time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParallaxTransformerBenchmark {
+	/**
+	 * The width of each simulated page, measured in pixels.
+	 */
+	private static final int PAGE_WIDTH = 1080;
+
+	/**
+	 * The transformers under test, which translate the same layers of the same pages.
+	 */
+	private final ParallaxTransformer[] transformers = new ParallaxTransformer[2];
+
+	/**
+	 * The root views of the simulated pages.
+	 */
+	private final View[] pages = new View[3];
+
+	/**
+	 * The scroll offsets to step through, simulating one frame each.
+	 */
+	private final float[] offsets = new float[60];
+
+	/**
+	 * The index of the next frame in {@code offsets}.
+	 */
+	private int frame = 0;
+
+	@Setup
+	public void setup() {
+		final int[] layerIds = {R.id.page_fragment_imageHolderFront,
+				R.id.page_fragment_imageHolderBack};
+		final float[] speedFactors = {0.25f, 0.5f};
+
+		for (int i = 0; i < transformers.length; i++) {
+			transformers[i] = new ParallaxTransformer(layerIds, speedFactors);
+		}
+
+		for (int i = 0; i < pages.length; i++) {
+			pages[i] = new View(0, PAGE_WIDTH);
+			pages[i].addView(new View(R.id.page_fragment_imageHolderBack, PAGE_WIDTH));
+			pages[i].addView(new View(R.id.page_fragment_imageHolderFront, PAGE_WIDTH));
+		}
+
+		for (int i = 0; i < offsets.length; i++) {
+			offsets[i] = (float) i / offsets.length;
+		}
+	}
+
+	/**
+	 * Transforms the pages as they scroll, with the layers already cached.
+	 */
+	@Benchmark
+	public View transformDuringScroll() {
+		final float offset = offsets[frame++ % offsets.length];
+		transformPages(transformers[0], offset);
+		return pages[0];
+	}
+
+	/**
+	 * Transforms the pages without them moving, as when the {@code ViewPager} is laid out again
+	 * without scrolling.
+	 */
+	@Benchmark
+	public View transformWhileIdle() {
+		transformPages(transformers[0], 0f);
+		return pages[0];
+	}
+
+	/**
+	 * Transforms the pages as they scroll, alternating between transformers so that the layers
+	 * must be found on every call. This is the cost of the first frame after a page is attached.
+	 */
+	@Benchmark
+	public View transformWithLookup() {
+		final float offset = offsets[frame % offsets.length];
+		transformPages(transformers[frame++ % transformers.length], offset);
+		return pages[0];
+	}
+
+	/**
+	 * Transforms the previous, current and next pages for one frame of a scroll.
+	 *
+	 * @param transformer
+	 * 		the transformer to use
+	 * @param offset
+	 * 		how far the scroll has progressed towards the next page
+	 */
+	private void transformPages(final ParallaxTransformer transformer, final float offset) {
+		for (int i = 0; i < pages.length; i++) {
+			transformer.transformPage(pages[i], i - 1 - offset);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.support.v4.view;
+
+import android.view.View;
+
+/**
+ * A minimal stand-in for the support library {@code ViewPager}, so that {@code
+ * ParallaxTransformer} can be compiled on a plain JVM. Only the page transformer interface is
+ * provided.
+ */
+public class ViewPager {
+	public interface PageTransformer {
+		void transformPage(View page, float position);
+	}
+}
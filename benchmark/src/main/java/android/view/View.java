@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package android.view;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A minimal stand-in for the platform {@code View}, so that {@code ParallaxTransformer} can be
+ * compiled and benchmarked on a plain JVM. Only the members used by the transformer are provided,
+ * and the tag and child lookups are linear searches like those of the platform for small views.
+ */
+public class View {
+	/**
+	 * The ID of this view.
+	 */
+	private final int id;
+
+	/**
+	 * The width of this view, measured in pixels.
+	 */
+	private int width;
+
+	/**
+	 * The horizontal translation of this view, measured in pixels.
+	 */
+	private float translationX;
+
+	/**
+	 * The direct children of this view.
+	 */
+	private final List<View> children = new ArrayList<>();
+
+	/**
+	 * The keys of the tags set on this view.
+	 */
+	private int[] tagKeys = new int[0];
+
+	/**
+	 * The tags set on this view, where each element corresponds to the key at the same index of
+	 * {@code tagKeys}.
+	 */
+	private Object[] tags = new Object[0];
+
+	/**
+	 * Constructs a new {@code View}.
+	 *
+	 * @param id
+	 * 		the ID of the view
+	 * @param width
+	 * 		the width of the view, measured in pixels
+	 */
+	public View(final int id, final int width) {
+		this.id = id;
+		this.width = width;
+	}
+
+	/**
+	 * Adds a child to this view.
+	 *
+	 * @param child
+	 * 		the child to add, not null
+	 */
+	public void addView(final View child) {
+		children.add(child);
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public int getWidth() {
+		return width;
+	}
+
+	public void setWidth(final int width) {
+		this.width = width;
+	}
+
+	public float getTranslationX() {
+		return translationX;
+	}
+
+	public void setTranslationX(final float translationX) {
+		this.translationX = translationX;
+	}
+
+	public View findViewById(final int id) {
+		if (this.id == id) {
+			return this;
+		}
+
+		for (int i = 0; i < children.size(); i++) {
+			final View view = children.get(i).findViewById(id);
+
+			if (view != null) {
+				return view;
+			}
+		}
+
+		return null;
+	}
+
+	public Object getTag(final int key) {
+		for (int i = 0; i < tagKeys.length; i++) {
+			if (tagKeys[i] == key) {
+				return tags[i];
+			}
+		}
+
+		return null;
+	}
+
+	public void setTag(final int key, final Object tag) {
+		for (int i = 0; i < tagKeys.length; i++) {
+			if (tagKeys[i] == key) {
+				tags[i] = tag;
+				return;
+			}
+		}
+
+		tagKeys = Arrays.copyOf(tagKeys, tagKeys.length + 1);
+		tags = Arrays.copyOf(tags, tags.length + 1);
+		tagKeys[tagKeys.length - 1] = key;
+		tags[tags.length - 1] = tag;
+	}
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+/**
+ * A minimal stand-in for the generated resource class of the library, so that {@code
+ * ParallaxTransformer} can be compiled on a plain JVM. Only the IDs used by the transformer are
+ * provided.
+ */
+public final class R {
+	public static final class id {
+		public static final int page_fragment_imageHolderBack = 0x7f0c0001;
+
+		public static final int page_fragment_imageHolderFront = 0x7f0c0002;
+
+		public static final int parallax_transformer_cachedViews = 0x7f0c0003;
+	}
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.graphics.Bitmap;
+import android.support.v4.util.LruCache;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/**
+ * A memory cache of decoded images, keyed by {@link ImageSource} and the size the image was
+ * sampled for. Images are reference counted: each call to {@link #acquire(ImageSource, int, int)}
+ * or {@link #put(ImageSource, int, int, Bitmap)} must be balanced by a call to {@link
+ * #release(Bitmap)} once the image is no longer displayed. Images which are in use are never
+ * evicted. Released images are retained in a least recently used cache, which is bounded by the
+ * total size of the images in bytes.
+ * <p/>
+ * A single instance is shared by all {@link ParallaxPage}s by default, so that pages which display
+ * the same source share one decoded image. {@link IntroActivity} trims the shared instance when it
+ * finishes and when the system is low on memory, so that released images are not retained once
+ * the intro is gone. Evicted images are added to a {@link BitmapPool} if one is supplied, so that
+ * their memory can be reused by later decodes. This class is thread safe.
+ */
+public final class BitmapCache {
+	/**
+	 * The fraction of the maximum heap size to use for the shared instance.
+	 */
+	private static final int DEFAULT_HEAP_DIVISOR = 8;
+
+	/**
+	 * The instance returned by {@link #getDefault()}, lazily initialised.
+	 */
+	private static BitmapCache defaultInstance;
+
+	/**
+	 * Images which are currently in use, mapped by key.
+	 */
+	private final HashMap<Key, Entry> activeEntries = new HashMap<>();
+
+	/**
+	 * Images which are currently in use, mapped by image. Images are compared by identity since
+	 * distinct images may be equal.
+	 */
+	private final IdentityHashMap<Bitmap, Entry> activeImages = new IdentityHashMap<>();
+
+	/**
+	 * Images which are not currently in use, in order of use.
+	 */
+	private final LruCache<Key, Bitmap> releasedImages;
+
+	/**
+	 * Receives evicted and duplicate images, null if such images are discarded.
+	 */
+	private final BitmapPool bitmapPool;
+
+	/**
+	 * Constructs a new {@code BitmapCache}.
+	 *
+	 * @param maxReleasedBytes
+	 * 		the maximum total size of the images retained once released, measured in bytes,
+	 * 		greater than zero
+	 * @throws IllegalArgumentException
+	 * 		if {@code maxReleasedBytes} is not greater than zero
+	 */
+	public BitmapCache(final int maxReleasedBytes) {
+		this(maxReleasedBytes, null);
+	}
+
+	/**
+	 * Constructs a new {@code BitmapCache} which adds evicted images to a pool.
+	 *
+	 * @param maxReleasedBytes
+	 * 		the maximum total size of the images retained once released, measured in bytes,
+	 * 		greater than zero
+	 * @param bitmapPool
+	 * 		the pool to add evicted images to, null to discard evicted images
+	 * @throws IllegalArgumentException
+	 * 		if {@code maxReleasedBytes} is not greater than zero
+	 */
+	public BitmapCache(final int maxReleasedBytes, final BitmapPool bitmapPool) {
+		if (maxReleasedBytes <= 0) {
+			throw new IllegalArgumentException("maxReleasedBytes must be greater than zero");
+		}
+
+		releasedImages = new LruCache<Key, Bitmap>(maxReleasedBytes) {
+			@Override
+			protected int sizeOf(final Key key, final Bitmap value) {
+				return BitmapPool.getSizeInBytes(value);
+			}
+
+			@Override
+			protected void entryRemoved(final boolean evicted, final Key key, final Bitmap oldValue,
+					final Bitmap newValue) {
+				// Images removed by acquire(...) are back in use, so only pool evicted images
+				if (evicted && BitmapCache.this.bitmapPool != null) {
+					BitmapCache.this.bitmapPool.put(oldValue);
+				}
+			}
+		};
+
+		this.bitmapPool = bitmapPool;
+	}
+
+	/**
+	 * @return the instance shared by all {@link ParallaxPage}s by default, not null
+	 */
+	public static synchronized BitmapCache getDefault() {
+		if (defaultInstance == null) {
+			final long maxMemory = Runtime.getRuntime().maxMemory();
+			defaultInstance = new BitmapCache((int) Math.min(maxMemory / DEFAULT_HEAP_DIVISOR,
+					Integer.MAX_VALUE), BitmapPool.getDefault());
+		}
+
+		return defaultInstance;
+	}
+
+	/**
+	 * Gets a cached image and marks it as in use. The image must be released by calling {@link
+	 * #release(Bitmap)} when it is no longer displayed.
+	 *
+	 * @param source
+	 * 		the source the image was decoded from, not null
+	 * @param requestedWidth
+	 * 		the width the image was sampled for, measured in pixels
+	 * @param requestedHeight
+	 * 		the height the image was sampled for, measured in pixels
+	 * @return the cached image, null if no image is cached for the supplied arguments
+	 */
+	public synchronized Bitmap acquire(final ImageSource source, final int requestedWidth,
+			final int requestedHeight) {
+		final Key key = new Key(source, requestedWidth, requestedHeight);
+		Entry entry = activeEntries.get(key);
+
+		if (entry == null) {
+			final Bitmap image = releasedImages.remove(key);
+
+			if (image == null) {
+				return null;
+			}
+
+			entry = activate(key, image);
+		}
+
+		entry.referenceCount++;
+		return entry.image;
+	}
+
+	/**
+	 * Adds a newly decoded image to this cache and marks it as in use. If an image is already
+	 * cached for the same arguments (for example because it was decoded concurrently), the cached
+	 * image is used instead and should be displayed in place of the supplied image. Either way,
+	 * the returned image must be released by calling {@link #release(Bitmap)} when it is no longer
+	 * displayed.
+	 *
+	 * @param source
+	 * 		the source the image was decoded from, not null
+	 * @param requestedWidth
+	 * 		the width the image was sampled for, measured in pixels
+	 * @param requestedHeight
+	 * 		the height the image was sampled for, measured in pixels
+	 * @param image
+	 * 		the decoded image, not null
+	 * @return the image to display, not null
+	 */
+	public synchronized Bitmap put(final ImageSource source, final int requestedWidth,
+			final int requestedHeight, final Bitmap image) {
+		final Bitmap cachedImage = acquire(source, requestedWidth, requestedHeight);
+
+		if (cachedImage != null) {
+			if (bitmapPool != null && cachedImage != image) {
+				bitmapPool.put(image);
+			}
+
+			return cachedImage;
+		}
+
+		final Entry entry = activate(new Key(source, requestedWidth, requestedHeight), image);
+		entry.referenceCount++;
+		return image;
+	}
+
+	/**
+	 * Marks an image as no longer in use by one caller. Once no caller is using the image, it is
+	 * retained until evicted to make room for other released images. Images which were not
+	 * obtained from this cache are ignored.
+	 *
+	 * @param image
+	 * 		the image to release
+	 */
+	public synchronized void release(final Bitmap image) {
+		final Entry entry = activeImages.get(image);
+
+		if (entry != null && --entry.referenceCount == 0) {
+			activeEntries.remove(entry.key);
+			activeImages.remove(image);
+			releasedImages.put(entry.key, image);
+		}
+	}
+
+	/**
+	 * @return the pool which receives evicted images, null if evicted images are discarded
+	 */
+	public BitmapPool getBitmapPool() {
+		return bitmapPool;
+	}
+
+	/**
+	 * @return the total size of the images retained once released, measured in bytes
+	 */
+	public synchronized int getReleasedBytes() {
+		return releasedImages.size();
+	}
+
+	/**
+	 * Evicts all released images. Images which are in use are unaffected.
+	 */
+	public synchronized void trimToActive() {
+		releasedImages.evictAll();
+	}
+
+	/**
+	 * Marks an image as in use without referencing it.
+	 *
+	 * @param key
+	 * 		the key of the image
+	 * @param image
+	 * 		the image
+	 * @return the entry for the image
+	 */
+	private Entry activate(final Key key, final Bitmap image) {
+		final Entry entry = new Entry(key, image);
+		activeEntries.put(key, entry);
+		activeImages.put(image, entry);
+		return entry;
+	}
+
+	/**
+	 * Identifies an image by the source it was decoded from and the size it was sampled for.
+	 */
+	private static final class Key {
+		private final Object sourceKey;
+
+		private final int requestedWidth;
+
+		private final int requestedHeight;
+
+		Key(final ImageSource source, final int requestedWidth, final int requestedHeight) {
+			this.sourceKey = source.getCacheKey();
+			this.requestedWidth = requestedWidth;
+			this.requestedHeight = requestedHeight;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof Key)) {
+				return false;
+			}
+
+			final Key other = (Key) o;
+
+			return sourceKey.equals(other.sourceKey) && requestedWidth == other.requestedWidth &&
+					requestedHeight == other.requestedHeight;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * sourceKey.hashCode() + requestedWidth) + requestedHeight;
+		}
+	}
+
+	/**
+	 * An image which is currently in use.
+	 */
+	private static final class Entry {
+		private final Key key;
+
+		private final Bitmap image;
+
+		private int referenceCount = 0;
+
+		Entry(final Key key, final Bitmap image) {
+			this.key = key;
+			this.image = image;
+		}
+	}
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.graphics.Bitmap;
+import android.os.Build;
+
+import java.util.ArrayList;
+
+/**
+ * A pool of discarded images whose memory can be reused when decoding new images, using {@link
+ * android.graphics.BitmapFactory.Options#inBitmap}. Reusing memory avoids allocating a new large
+ * object for each decode, which reduces the number of garbage collections triggered while the user
+ * swipes between pages. The pool is bounded by the total size of the images it holds in bytes, and
+ * discards the oldest images first.
+ * <p/>
+ * Before API 19, an image can only be reused to decode an image of exactly the same size without
+ * sampling. From API 19 onwards, any image with at least as many bytes as the new image can be
+ * reused. {@link IntroActivity} clears the shared instance when it finishes and when the system is
+ * low on memory. This class is thread safe.
+ */
+public final class BitmapPool {
+	/**
+	 * The fraction of the maximum heap size to use for the shared instance.
+	 */
+	private static final int DEFAULT_HEAP_DIVISOR = 16;
+
+	/**
+	 * The instance returned by {@link #getDefault()}, lazily initialised.
+	 */
+	private static BitmapPool defaultInstance;
+
+	/**
+	 * The images in this pool, oldest first.
+	 */
+	private final ArrayList<Bitmap> images = new ArrayList<>();
+
+	/**
+	 * The maximum total size of the images in this pool, measured in bytes.
+	 */
+	private final int maxBytes;
+
+	/**
+	 * The current total size of the images in this pool, measured in bytes.
+	 */
+	private int currentBytes = 0;
+
+	/**
+	 * Constructs a new {@code BitmapPool}.
+	 *
+	 * @param maxBytes
+	 * 		the maximum total size of the images in the pool, measured in bytes, greater than
+	 * 		zero
+	 * @throws IllegalArgumentException
+	 * 		if {@code maxBytes} is not greater than zero
+	 */
+	public BitmapPool(final int maxBytes) {
+		if (maxBytes <= 0) {
+			throw new IllegalArgumentException("maxBytes must be greater than zero");
+		}
+
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * @return the instance used by the default {@link BitmapCache}, not null
+	 */
+	public static synchronized BitmapPool getDefault() {
+		if (defaultInstance == null) {
+			final long maxMemory = Runtime.getRuntime().maxMemory();
+			defaultInstance = new BitmapPool((int) Math.min(maxMemory / DEFAULT_HEAP_DIVISOR,
+					Integer.MAX_VALUE));
+		}
+
+		return defaultInstance;
+	}
+
+	/**
+	 * Adds an image to this pool. The image must not be used by the caller afterwards. Images
+	 * which are immutable, recycled or larger than the pool are discarded.
+	 *
+	 * @param image
+	 * 		the image to add, null to do nothing
+	 */
+	public synchronized void put(final Bitmap image) {
+		if (image == null || !image.isMutable() || image.isRecycled()) {
+			return;
+		}
+
+		final int size = getSizeInBytes(image);
+
+		if (size > maxBytes) {
+			return;
+		}
+
+		images.add(image);
+		currentBytes += size;
+
+		while (currentBytes > maxBytes) {
+			currentBytes -= getSizeInBytes(images.remove(0));
+		}
+	}
+
+	/**
+	 * Removes and returns an image which can be reused to decode an image with the supplied
+	 * properties.
+	 *
+	 * @param width
+	 * 		the width of the decoded image, measured in pixels
+	 * @param height
+	 * 		the height of the decoded image, measured in pixels
+	 * @param sampleSize
+	 * 		the sample size used to decode the image
+	 * @param config
+	 * 		the configuration of the decoded image, not null
+	 * @return the image to reuse, null if there is no suitable image
+	 */
+	public synchronized Bitmap get(final int width, final int height, final int sampleSize,
+			final Bitmap.Config config) {
+		// Search newest first, since the newest images are most likely to match recent decodes
+		for (int i = images.size() - 1; i >= 0; i--) {
+			final Bitmap image = images.get(i);
+
+			if (canReuse(image, width, height, sampleSize, config)) {
+				images.remove(i);
+				currentBytes -= getSizeInBytes(image);
+				return image;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * @return the current total size of the images in this pool, measured in bytes
+	 */
+	public synchronized int getCurrentBytes() {
+		return currentBytes;
+	}
+
+	/**
+	 * Removes all images from this pool.
+	 */
+	public synchronized void clear() {
+		images.clear();
+		currentBytes = 0;
+	}
+
+	/**
+	 * Determines whether an image can be reused to decode an image with the supplied properties.
+	 *
+	 * @param candidate
+	 * 		the image to reuse
+	 * @param width
+	 * 		the width of the decoded image, measured in pixels
+	 * @param height
+	 * 		the height of the decoded image, measured in pixels
+	 * @param sampleSize
+	 * 		the sample size used to decode the image
+	 * @param config
+	 * 		the configuration of the decoded image
+	 * @return true if the image can be reused, false otherwise
+	 */
+	private static boolean canReuse(final Bitmap candidate, final int width, final int height,
+			final int sampleSize, final Bitmap.Config config) {
+		if (candidate.getConfig() != config) {
+			return false;
+		}
+
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+			return candidate.getAllocationByteCount() >= width * height * getBytesPerPixel(config);
+		} else {
+			return sampleSize == 1 && candidate.getWidth() == width &&
+					candidate.getHeight() == height;
+		}
+	}
+
+	/**
+	 * Calculates the memory used by the pixels of an image.
+	 *
+	 * @param image
+	 * 		the image to measure, not null
+	 * @return the size of the image, measured in bytes
+	 */
+	static int getSizeInBytes(final Bitmap image) {
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+			return image.getAllocationByteCount();
+		} else {
+			// Bitmap.getByteCount() is not available on API 11
+			return image.getRowBytes() * image.getHeight();
+		}
+	}
+
+	/**
+	 * @param config
+	 * 		the configuration to measure
+	 * @return the number of bytes used to store each pixel in the supplied configuration
+	 */
+	private static int getBytesPerPixel(final Bitmap.Config config) {
+		switch (config) {
+			case ALPHA_8:
+				return 1;
+			case RGB_565:
+			case ARGB_4444:
+				return 2;
+			default:
+				return 4;
+		}
+	}
+}
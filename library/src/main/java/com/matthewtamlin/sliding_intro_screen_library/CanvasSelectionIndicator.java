@@ -0,0 +1,682 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ValueAnimator;
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.View;
+
+/**
+ * Indicates the active item in a set by displaying a row of dots. This class accepts the same
+ * attributes as {@link SelectionIndicator}, however all dots are drawn directly to the canvas of a
+ * single {@code View} instead of being hosted in {@link Dot} children. This reduces the cost of
+ * measuring, laying out and drawing the indicator, which is significant when many items are
+ * represented. {@link IntroActivity} uses this class for its page indicator once {@link
+ * IntroActivity#setUseCanvasPageIndicator(boolean)} is enabled.
+ */
+public class CanvasSelectionIndicator extends View implements ItemIndicator {
+	/**
+	 * Used during debugging to identify this class.
+	 */
+	private static final String TAG = "[CanvasSelectionIndicator]";
+
+	/**
+	 * Default value for the attribute {@code numberOfItems}.
+	 */
+	private static final int DEFAULT_NUMBER_OF_ITEMS = 1;
+
+	/**
+	 * Default value for the {@code activeItemIndex} attribute.
+	 */
+	private static final int DEFAULT_ACTIVE_ITEM_INDEX = 0;
+
+	/**
+	 * Default value for the {@code inactiveDotDiameter} attribute.
+	 */
+	private static final int DEFAULT_INACTIVE_DOT_DIAMETER_DP = 6;
+
+	/**
+	 * Default value for the {@code activeDotDiameter} attribute.
+	 */
+	private static final int DEFAULT_ACTIVE_DOT_DIAMETER_DP = 9;
+
+	/**
+	 * Default value for the {@code inactiveColor} attribute.
+	 */
+	private static final int DEFAULT_INACTIVE_DOT_COLOR = Color.WHITE;
+
+	/**
+	 * Default value for the {@code activeColor} attribute.
+	 */
+	private static final int DEFAULT_ACTIVE_DOT_COLOR = Color.WHITE;
+
+	/**
+	 * Default value for the {@code spacingBetweenDots} attribute.
+	 */
+	private static final int DEFAULT_SPACING_BETWEEN_DOTS_DP = 7;
+
+	/**
+	 * Default value for the {@code transitionDuration} attribute.
+	 */
+	private static final int DEFAULT_DOT_TRANSITION_DURATION_MS = 200;
+
+	/**
+	 * The total number of items represented.
+	 */
+	private int numberOfItems;
+
+	/**
+	 * The index of the currently selected item, starting at 0.
+	 */
+	private int activeItemIndex;
+
+	/**
+	 * The index of the item which was selected before {@code activeItemIndex}, or -1 if there is
+	 * no such item.
+	 */
+	private int previousActiveItemIndex = -1;
+
+	/**
+	 * The progress of the transition from {@code previousActiveItemIndex} to {@code
+	 * activeItemIndex}, where 0 is the start of the transition and 1 is the end.
+	 */
+	private float transitionFraction = 1f;
+
+	/**
+	 * The index of the first of the two dots displayed by the last call to {@link
+	 * #setScrollPosition(int, float)}, or -1 if the active item has been set since.
+	 */
+	private int scrollPosition = -1;
+
+	/**
+	 * The offset supplied in the last call to {@link #setScrollPosition(int, float)}.
+	 */
+	private float scrollPositionOffset;
+
+	/**
+	 * The diameter to use for each dot representing an unselected item.
+	 */
+	private int inactiveDotDiameterPx;
+
+	/**
+	 * The diameter to use for the dot representing the selected item.
+	 */
+	private int activeDotDiameterPx;
+
+	/**
+	 * The ARGB hex code of the color to use for each dot representing an unselected item.
+	 */
+	private int inactiveDotColor;
+
+	/**
+	 * The ARGB hex code of the colour to use for the dot representing the selected item.
+	 */
+	private int activeDotColor;
+
+	/**
+	 * The spacing between the edges of consecutive unselected dots.
+	 */
+	private int spacingBetweenDotsPx;
+
+	/**
+	 * The length of time for transitioning each dot between selected and unselected, measured in
+	 * milliseconds.
+	 */
+	private int transitionDurationMs;
+
+	/**
+	 * The {@code Paint} used to draw every dot. The color is changed for each dot as it is drawn.
+	 */
+	private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+	/**
+	 * Drives transitions between active items. A single animator is reused for all transitions.
+	 */
+	private ValueAnimator transitionAnimator;
+
+	/**
+	 * Constructs a new {@code CanvasSelectionIndicator}. If an attribute specific to this class is
+	 * not provided, the relevant default is used. The defaults are:<p/>
+	 * <li>numberOfItems: 1</li>
+	 * <li>activeItemIndex: 0</li>
+	 * <li>inactiveDotDiameter: 6dp</li>
+	 * <li>activeDotDiameter: 9dp</li>
+	 * <li>inactiveDotColor: opaque white (i.e. ARGB 0xFFFFFFFF)</li>
+	 * <li>activeDotColor: opaque white (i.e. ARGB 0xFFFFFFFF)</li>
+	 * <li>spacingBetweenDots: 7dp</li>
+	 * <li>transitionDuration: 200ms</li>
+	 *
+	 * @param context
+	 * 		the context in which this {@code CanvasSelectionIndicator} is operating
+	 */
+	public CanvasSelectionIndicator(Context context) {
+		super(context);
+		init(null);
+	}
+
+	/**
+	 * Constructs a new {@code CanvasSelectionIndicator}. If an attribute specific to this class is
+	 * not provided, the relevant default is used. The defaults are:<p/>
+	 * <li>numberOfItems: 1</li>
+	 * <li>activeItemIndex: 0</li>
+	 * <li>inactiveDotDiameter: 6dp</li>
+	 * <li>activeDotDiameter: 9dp</li>
+	 * <li>inactiveDotColor: opaque white (i.e. ARGB 0xFFFFFFFF)</li>
+	 * <li>activeDotColor: opaque white (i.e. ARGB 0xFFFFFFFF)</li>
+	 * <li>spacingBetweenDots: 7dp</li>
+	 * <li>transitionDuration: 200ms</li>
+	 *
+	 * @param context
+	 * 		the context in which this {@code CanvasSelectionIndicator} is operating
+	 * @param attrs
+	 * 		the attributes from the xml declaration of this instance
+	 */
+	public CanvasSelectionIndicator(Context context, AttributeSet attrs) {
+		super(context, attrs);
+		init(attrs);
+	}
+
+	/**
+	 * Constructs a new {@code CanvasSelectionIndicator}. If an attribute specific to this class is
+	 * not provided, the relevant default is used. The defaults are:<p/>
+	 * <li>numberOfItems: 1</li>
+	 * <li>activeItemIndex: 0</li>
+	 * <li>inactiveDotDiameter: 6dp</li>
+	 * <li>activeDotDiameter: 9dp</li>
+	 * <li>inactiveDotColor: opaque white (i.e. ARGB 0xFFFFFFFF)</li>
+	 * <li>activeDotColor: opaque white (i.e. ARGB 0xFFFFFFFF)</li>
+	 * <li>spacingBetweenDots: 7dp</li>
+	 * <li>transitionDuration: 200ms</li>
+	 *
+	 * @param context
+	 * 		the context in which this {@code CanvasSelectionIndicator} is operating
+	 * @param attrs
+	 * 		the attributes from the xml declaration of this instance
+	 * @param defStyleAttr
+	 * 		this parameter does nothing
+	 */
+	public CanvasSelectionIndicator(Context context, AttributeSet attrs, int defStyleAttr) {
+		super(context, attrs, defStyleAttr);
+		init(attrs);
+	}
+
+	/**
+	 * Initialises this {@code CanvasSelectionIndicator} by reading the provided attributes and
+	 * assigning them to member variables. This method should only be invoked during construction.
+	 *
+	 * @param attrs
+	 * 		the attributes provided in the xml declaration of this instance
+	 */
+	private void init(final AttributeSet attrs) {
+		// Use a TypedArray to process attrs
+		final TypedArray attributes =
+				getContext().obtainStyledAttributes(attrs, R.styleable.SelectionIndicator);
+
+		// Need to convert all default dimensions to px from dp
+		final int defaultActiveDotDiameterPx = (int) TypedValue
+				.applyDimension(TypedValue.COMPLEX_UNIT_DIP, DEFAULT_ACTIVE_DOT_DIAMETER_DP,
+						getResources().getDisplayMetrics());
+
+		final int defaultInactiveDotDiameterPx = (int) TypedValue
+				.applyDimension(TypedValue.COMPLEX_UNIT_DIP, DEFAULT_INACTIVE_DOT_DIAMETER_DP,
+						getResources().getDisplayMetrics());
+
+		final int defaultSpacingBetweenDotsPx = (int) TypedValue
+				.applyDimension(TypedValue.COMPLEX_UNIT_DIP, DEFAULT_SPACING_BETWEEN_DOTS_DP,
+						getResources().getDisplayMetrics());
+
+		// Assign attributes to member variables
+		numberOfItems = attributes
+				.getInt(R.styleable.SelectionIndicator_numberOfItems, DEFAULT_NUMBER_OF_ITEMS);
+
+		activeItemIndex = attributes
+				.getInt(R.styleable.SelectionIndicator_activeItemIndex, DEFAULT_ACTIVE_ITEM_INDEX);
+
+		inactiveDotDiameterPx = attributes
+				.getDimensionPixelSize(R.styleable.SelectionIndicator_inactiveDotDiameter,
+						defaultInactiveDotDiameterPx);
+
+		activeDotDiameterPx = attributes
+				.getDimensionPixelSize(R.styleable.SelectionIndicator_activeDotDiameter,
+						defaultActiveDotDiameterPx);
+
+		inactiveDotColor = attributes.getColor(R.styleable.SelectionIndicator_inactiveDotColor,
+				DEFAULT_INACTIVE_DOT_COLOR);
+
+		activeDotColor = attributes
+				.getColor(R.styleable.SelectionIndicator_activeDotColor, DEFAULT_ACTIVE_DOT_COLOR);
+
+		spacingBetweenDotsPx = attributes
+				.getDimensionPixelSize(R.styleable.SelectionIndicator_spacingBetweenDots,
+						defaultSpacingBetweenDotsPx);
+
+		transitionDurationMs = attributes
+				.getInt(R.styleable.SelectionIndicator_dotTransitionDuration,
+						DEFAULT_DOT_TRANSITION_DURATION_MS);
+
+		attributes.recycle();
+
+		// Create the animator once so that transitions do not allocate
+		transitionAnimator = ValueAnimator.ofFloat(0f, 1f);
+		transitionAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+			@Override
+			public void onAnimationUpdate(ValueAnimator animation) {
+				transitionFraction = TransitionMath.getAnimatedFraction(
+						animation.getCurrentPlayTime(), animation.getDuration());
+				invalidate();
+			}
+		});
+		transitionAnimator.addListener(new AnimatorListenerAdapter() {
+			@Override
+			public void onAnimationEnd(Animator animation) {
+				// The play time of the last frame may fall short of the duration
+				transitionFraction = 1f;
+				invalidate();
+			}
+		});
+	}
+
+	@Override
+	protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+		final int desiredWidth = getPaddingLeft() + getDotsWidth() + getPaddingRight();
+		final int desiredHeight = getPaddingTop() + getMaxDotDiameter() + getPaddingBottom();
+
+		setMeasuredDimension(resolveSize(desiredWidth, widthMeasureSpec),
+				resolveSize(desiredHeight, heightMeasureSpec));
+	}
+
+	@Override
+	protected void onDraw(Canvas canvas) {
+		super.onDraw(canvas);
+
+		final int availableWidth = getWidth() - getPaddingLeft() - getPaddingRight();
+		final int availableHeight = getHeight() - getPaddingTop() - getPaddingBottom();
+
+		// The dots are centred in the available space, in the same way as SelectionIndicator
+		final float firstCentreX = getPaddingLeft() + (availableWidth - getDotsWidth()) / 2f +
+				getMaxDotDiameter() / 2f;
+		final float centreY = getPaddingTop() + availableHeight / 2f;
+		final int distanceBetweenCentres = spacingBetweenDotsPx + inactiveDotDiameterPx;
+
+		for (int i = 0; i < numberOfItems; i++) {
+			final float activeFraction = getActiveFraction(i);
+			final float diameter = inactiveDotDiameterPx +
+					(activeDotDiameterPx - inactiveDotDiameterPx) * activeFraction;
+
+			paint.setColor(ColorGradient.blend(activeDotColor, inactiveDotColor, activeFraction));
+			canvas.drawCircle(firstCentreX + i * distanceBetweenCentres, centreY, diameter / 2f,
+					paint);
+		}
+	}
+
+	@Override
+	protected void onDetachedFromWindow() {
+		super.onDetachedFromWindow();
+		transitionAnimator.cancel();
+	}
+
+	/**
+	 * Returns how close the dot at the supplied index is to being fully active.
+	 *
+	 * @param index
+	 * 		the index of the dot
+	 * @return 1 if the dot is fully active, 0 if the dot is fully inactive, or a value between the
+	 * two if the dot is transitioning
+	 */
+	private float getActiveFraction(final int index) {
+		if (scrollPosition != -1) {
+			if (index == scrollPosition) {
+				return 1f - scrollPositionOffset;
+			} else if (index == scrollPosition + 1) {
+				return scrollPositionOffset;
+			} else {
+				return 0f;
+			}
+		} else if (index == activeItemIndex) {
+			return transitionFraction;
+		} else if (index == previousActiveItemIndex) {
+			return 1f - transitionFraction;
+		} else {
+			return 0f;
+		}
+	}
+
+	/**
+	 * @return the width needed to display all dots, measured in pixels
+	 */
+	private int getDotsWidth() {
+		if (numberOfItems <= 0) {
+			return 0;
+		}
+
+		return (numberOfItems - 1) * (spacingBetweenDotsPx + inactiveDotDiameterPx) +
+				getMaxDotDiameter();
+	}
+
+	/**
+	 * @return the larger of the active and inactive dot diameters, measured in pixels
+	 */
+	private int getMaxDotDiameter() {
+		return Math.max(activeDotDiameterPx, inactiveDotDiameterPx);
+	}
+
+	/**
+	 * Updates the UI to reflect the new active item.
+	 *
+	 * @param activeItemIndex
+	 * 		the index of the active item, starting at 0
+	 * @param animate
+	 * 		whether the update should be animated
+	 */
+	@Override
+	public void setActiveItem(final int activeItemIndex, boolean animate) {
+		if (activeItemIndex > numberOfItems - 1) {
+			throw new IllegalArgumentException("newActiveItemIndex exceeds the number of items");
+		} else if (activeItemIndex < 0) {
+			throw new IllegalArgumentException("newActiveItemIndex must be greater than 0");
+		}
+
+		if (activeItemIndex == this.activeItemIndex && scrollPosition == -1) {
+			return; // Nothing to update
+		}
+
+		transitionAnimator.cancel();
+		scrollPosition = -1;
+		previousActiveItemIndex = (activeItemIndex == this.activeItemIndex) ? -1 :
+				this.activeItemIndex;
+		this.activeItemIndex = activeItemIndex;
+
+		// Only a change of active item is animated, the end of a scroll is shown immediately
+		if (animate && transitionDurationMs > 0 && previousActiveItemIndex != -1) {
+			transitionFraction = 0f;
+			transitionAnimator.setDuration(transitionDurationMs);
+			transitionAnimator.start();
+		} else {
+			transitionFraction = 1f;
+			invalidate();
+		}
+	}
+
+	/**
+	 * Updates the UI to reflect a scroll between two consecutive items. The dots are redrawn
+	 * directly without animating, so that the UI stays synchronised with the scroll. The
+	 * parameters of this method correspond to those of {@code onPageScrolled(int, float, int)} in
+	 * {@link android.support.v4.view.ViewPager.OnPageChangeListener}, so this method can be called
+	 * directly from that callback. The active item is updated to whichever item is closest to
+	 * being fully displayed.
+	 *
+	 * @param position
+	 * 		the index of the first item currently displayed
+	 * @param positionOffset
+	 * 		how far the scroll has progressed from {@code position} towards {@code position + 1},
+	 * 		between 0 and 1
+	 */
+	@Override
+	public void setScrollPosition(final int position, final float positionOffset) {
+		if (position > numberOfItems - 1) {
+			throw new IllegalArgumentException("position exceeds the number of items");
+		} else if (position < 0) {
+			throw new IllegalArgumentException("position must be greater than 0");
+		} else if (positionOffset < 0f || positionOffset > 1f) {
+			throw new IllegalArgumentException("positionOffset must be between 0 and 1");
+		}
+
+		transitionAnimator.cancel();
+
+		final boolean hasNextItem = position < numberOfItems - 1;
+		scrollPosition = position;
+		scrollPositionOffset = hasNextItem ? positionOffset : 0f;
+		activeItemIndex = (scrollPositionOffset < 0.5f) ? position : position + 1;
+		previousActiveItemIndex = -1;
+		transitionFraction = 1f;
+
+		invalidate();
+	}
+
+	/**
+	 * @return the index of the dot which is currently active
+	 */
+	@Override
+	public int getActiveItemIndex() {
+		return activeItemIndex;
+	}
+
+	/**
+	 * Sets the number of items in the set this indicator represents.
+	 *
+	 * @param numberOfItems
+	 * 		the number of items to represent with this indicator
+	 */
+	@Override
+	public void setNumberOfItems(int numberOfItems) {
+		this.numberOfItems = numberOfItems;
+		requestLayout();
+		invalidate();
+	}
+
+	@Override
+	public int getNumberOfItems() {
+		return numberOfItems;
+	}
+
+	/**
+	 * Inserts a single item into the set this indicator represents. The active item is unchanged,
+	 * unless the set was previously empty in which case the new item becomes active.
+	 *
+	 * @param index
+	 * 		the index to insert the item at, between 0 and the current number of items inclusive
+	 */
+	@Override
+	public void insertItem(final int index) {
+		if (index > numberOfItems) {
+			throw new IllegalArgumentException("index exceeds the number of items");
+		} else if (index < 0) {
+			throw new IllegalArgumentException("index must be greater than 0");
+		}
+
+		transitionAnimator.cancel();
+		scrollPosition = -1;
+		previousActiveItemIndex = -1;
+		transitionFraction = 1f;
+
+		if (numberOfItems == 0) {
+			activeItemIndex = 0;
+		} else if (index <= activeItemIndex) {
+			activeItemIndex++;
+		}
+
+		numberOfItems++;
+		requestLayout();
+		invalidate();
+	}
+
+	/**
+	 * Removes a single item from the set this indicator represents. If the active item is removed,
+	 * the item which takes its place becomes active.
+	 *
+	 * @param index
+	 * 		the index of the item to remove, starting at 0
+	 */
+	@Override
+	public void removeItem(final int index) {
+		if (index > numberOfItems - 1) {
+			throw new IllegalArgumentException("index exceeds the number of items");
+		} else if (index < 0) {
+			throw new IllegalArgumentException("index must be greater than 0");
+		}
+
+		transitionAnimator.cancel();
+		scrollPosition = -1;
+		previousActiveItemIndex = -1;
+		transitionFraction = 1f;
+
+		numberOfItems--;
+
+		if (index < activeItemIndex || activeItemIndex > numberOfItems - 1) {
+			activeItemIndex = Math.max(activeItemIndex - 1, 0);
+		}
+
+		requestLayout();
+		invalidate();
+	}
+
+	/**
+	 * Sets the diameter to use for each dot which represents an unselected item.
+	 *
+	 * @param inactiveDotDiameterPx
+	 * 		the diameter for inactive dots, measured in pixels
+	 */
+	public void setInactiveDotDiameterPx(int inactiveDotDiameterPx) {
+		this.inactiveDotDiameterPx = inactiveDotDiameterPx;
+		requestLayout();
+		invalidate();
+	}
+
+	/**
+	 * Sets the diameter to use for each dot which represents an unselected item.
+	 *
+	 * @param inactiveDotDiameterDp
+	 * 		the diameter for inactive dots, measured in display-independent pixels
+	 */
+	public void setInactiveDotDiameterDp(int inactiveDotDiameterDp) {
+		final int diameterPx = (int) TypedValue
+				.applyDimension(TypedValue.COMPLEX_UNIT_DIP, inactiveDotDiameterDp,
+						getResources().getDisplayMetrics());
+		setInactiveDotDiameterPx(diameterPx);
+	}
+
+	/**
+	 * @return the diameter of each dot which represents an unselected item, measured in pixels
+	 */
+	public int getInactiveDotDiameterPx() {
+		return inactiveDotDiameterPx;
+	}
+
+	/**
+	 * Sets the diameter to use for the dot which represents the selected item.
+	 *
+	 * @param activeDotDiameterPx
+	 * 		the diameter for the active dot, measured in pixels
+	 */
+	public void setActiveDotDiameterPx(int activeDotDiameterPx) {
+		this.activeDotDiameterPx = activeDotDiameterPx;
+		requestLayout();
+		invalidate();
+	}
+
+	/**
+	 * Sets the diameter to use for the dot which represents the selected item.
+	 *
+	 * @param activeDotDiameterDp
+	 * 		the diameter for the active dot, measured in display-independent pixels
+	 */
+	public void setActiveDotDiameterDp(int activeDotDiameterDp) {
+		final int diameterPx = (int) TypedValue
+				.applyDimension(TypedValue.COMPLEX_UNIT_DIP, activeDotDiameterDp,
+						getResources().getDisplayMetrics());
+		setActiveDotDiameterPx(diameterPx);
+	}
+
+	/**
+	 * @return the diameter of the dot which represents the selected item, measured in pixels
+	 */
+	public int getActiveDotDiameterPx() {
+		return activeDotDiameterPx;
+	}
+
+	/**
+	 * Sets the color to use for each dot which represents an unselected item.
+	 *
+	 * @param inactiveDotColor
+	 * 		the color for inactive dots, as an ARGB hex code
+	 */
+	public void setInactiveDotColor(int inactiveDotColor) {
+		this.inactiveDotColor = inactiveDotColor;
+		invalidate();
+	}
+
+	/**
+	 * @return the color of each dot which represents an unselected item, as an ARGB hex code
+	 */
+	public int getInactiveDotColor() {
+		return inactiveDotColor;
+	}
+
+	/**
+	 * Sets the color to use for the dot which represents the selected item.
+	 *
+	 * @param activeDotColor
+	 * 		the color for the active dot, as an ARGB hex code
+	 */
+	public void setActiveDotColor(int activeDotColor) {
+		this.activeDotColor = activeDotColor;
+		invalidate();
+	}
+
+	/**
+	 * @return the color of the dot which represents the selected item, as an ARGB hex code
+	 */
+	public int getActiveDotColor() {
+		return activeDotColor;
+	}
+
+	/**
+	 * Sets the spacing to use between subsequent dots, as measured from the edges of the dots when
+	 * inactive.
+	 *
+	 * @param spacingBetweenDotsPx
+	 * 		the spacing between dots, measured in pixels
+	 */
+	public void setSpacingBetweenDotsPx(int spacingBetweenDotsPx) {
+		this.spacingBetweenDotsPx = spacingBetweenDotsPx;
+		requestLayout();
+		invalidate();
+	}
+
+	/**
+	 * @return the spacing between subsequent inactive dots, measured in pixels
+	 */
+	public int getSpacingBetweenDotsPx() {
+		return spacingBetweenDotsPx;
+	}
+
+	/**
+	 * Sets the duration of time to use when transitioning dots from active to inactive.
+	 *
+	 * @param transitionDurationMs
+	 * 		the duration, measured in milliseconds
+	 */
+	public void setTransitionDurationMs(int transitionDurationMs) {
+		this.transitionDurationMs = transitionDurationMs;
+	}
+
+	/**
+	 * @return the duration of time used when transitioning dots from active to inactive,
+	 * measured in milliseconds
+	 */
+	public int getTransitionDurationMs() {
+		return transitionDurationMs;
+	}
+}
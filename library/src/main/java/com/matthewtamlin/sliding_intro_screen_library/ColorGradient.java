@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+/**
+ * A series of colors which can be blended between consecutive positions. The colors are stored in
+ * an array which is only reallocated when the number of colors changes, so that blended colors can
+ * be looked up on every frame of a scroll without allocating or calling into other objects.
+ */
+final class ColorGradient {
+	/**
+	 * The colors of this gradient, as ARGB hex codes.
+	 */
+	private int[] colors = new int[0];
+
+	/**
+	 * Sets the number of colors in this gradient. The existing colors are retained if the number
+	 * is unchanged, otherwise all colors are reset to transparent.
+	 *
+	 * @param size
+	 * 		the number of colors, not less than 0
+	 */
+	void setSize(final int size) {
+		if (colors.length != size) {
+			colors = new int[size];
+		}
+	}
+
+	/**
+	 * @return the number of colors in this gradient
+	 */
+	int getSize() {
+		return colors.length;
+	}
+
+	/**
+	 * Sets the color at a position in this gradient.
+	 *
+	 * @param position
+	 * 		the position of the color
+	 * @param color
+	 * 		the color, as an ARGB hex code
+	 */
+	void setColor(final int position, final int color) {
+		colors[position] = color;
+	}
+
+	/**
+	 * Returns the color part of the way between one position and the next. If there is no next
+	 * position, the color at the supplied position is returned.
+	 *
+	 * @param position
+	 * 		the position to start from
+	 * @param positionOffset
+	 * 		how far the blend has progressed from {@code position} towards {@code position + 1},
+	 * 		between 0 and 1
+	 * @return the blended color, as an ARGB hex code
+	 */
+	int getColor(final int position, final float positionOffset) {
+		final int nextPosition = Math.min(position + 1, colors.length - 1);
+		return blend(colors[position], colors[nextPosition], 1f - positionOffset);
+	}
+
+	/**
+	 * Blends two colors by interpolating each ARGB channel independently.
+	 *
+	 * @param color1
+	 * 		the first color, as an ARGB hex code
+	 * @param color2
+	 * 		the second color, as an ARGB hex code
+	 * @param ratioOfColor1
+	 * 		the proportion of {@code color1} in the result, between 0 and 1
+	 * @return the blended color, as an ARGB hex code
+	 */
+	static int blend(final int color1, final int color2, final float ratioOfColor1) {
+		if (color1 == color2) {
+			return color1;
+		}
+
+		final float ratioOfColor2 = 1f - ratioOfColor1;
+
+		final int a = (int) (((color1 >>> 24) * ratioOfColor1) + ((color2 >>> 24) * ratioOfColor2));
+		final int r = (int) ((((color1 >> 16) & 0xff) * ratioOfColor1) +
+				(((color2 >> 16) & 0xff) * ratioOfColor2));
+		final int g = (int) ((((color1 >> 8) & 0xff) * ratioOfColor1) +
+				(((color2 >> 8) & 0xff) * ratioOfColor2));
+		final int b = (int) (((color1 & 0xff) * ratioOfColor1) + ((color2 & 0xff) * ratioOfColor2));
+
+		return (a << 24) | (r << 16) | (g << 8) | b;
+	}
+}
@@ -18,23 +18,18 @@ package com.matthewtamlin.sliding_intro_screen_library;
 
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
-import android.animation.AnimatorSet;
 import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.TypedArray;
+import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.drawable.ShapeDrawable;
-import android.graphics.drawable.shapes.OvalShape;
+import android.graphics.Paint;
 import android.util.AttributeSet;
-import android.util.Log;
 import android.util.TypedValue;
 import android.view.Gravity;
-import android.widget.ImageView;
+import android.view.ViewGroup;
 import android.widget.RelativeLayout;
 
-import com.matthewtamlin.android_utilities_library.helpers.ColorHelper;
-
-
 /**
  * A solid circular shape with two states: active and inactive. Each state can be configured with a
  * different diameter and color, and the {@code Dot} can be made to transition between these
@@ -114,20 +109,44 @@ public class Dot extends RelativeLayout {
 	private State state;
 
 	/**
-	 * The {@code Drawable} used to create the visible part of this {@code Dot}.
+	 * How close the appearance of this {@code Dot} currently is to the active appearance, where 0
+	 * is fully inactive and 1 is fully active.
+	 */
+	private float activeFraction;
+
+	/**
+	 * The {@code Paint} used to draw this {@code Dot}. The color of the paint always reflects the
+	 * current active fraction.
+	 */
+	private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+
+	/**
+	 * Drives all transitions between active and inactive. The same animator is reused for every
+	 * transition so that animating does not allocate.
 	 */
-	private ShapeDrawable shape;
+	private ValueAnimator transitionAnimator;
 
 	/**
-	 * Displays {@code shape}.
+	 * The active fraction at the start of the current transition.
 	 */
-	private ImageView drawableHolder;
+	private float transitionStartFraction;
 
 	/**
-	 * Reference to the current animation being performed on this {@code Dot}, null if no animation
-	 * is currently occurring.
+	 * The active fraction at the end of the current transition.
 	 */
-	private AnimatorSet currentAnimator = null;
+	private float transitionEndFraction;
+
+	/**
+	 * Whether or not the current transition is being cancelled. Cancelled transitions must not
+	 * update the state when they end.
+	 */
+	private boolean transitionCancelled = false;
+
+	/**
+	 * The number of calls to {@link #beginUpdate()} which have not yet been matched by a call to
+	 * {@link #endUpdate()}. The UI is not updated while this value is greater than 0.
+	 */
+	private int openUpdateCount = 0;
 
 	/**
 	 * Constructs a new {@code Dot}. If an attribute specific to this class is not
@@ -228,38 +247,112 @@ public class Dot extends RelativeLayout {
 		state = attributes.getBoolean(R.styleable.Dot_initiallyActive, DEFAULT_INITIALLY_ACTIVE) ?
 				State.ACTIVE : State.INACTIVE;
 
+		activeFraction = (state == State.ACTIVE) ? 1f : 0f;
+
 		attributes.recycle();
+
+		// The dot is drawn directly by this view
+		setWillNotDraw(false);
+		paint.setColor(getColorForActiveFraction(activeFraction));
+
+		// Create the animator and its listeners once, so that transitions do not allocate
+		transitionAnimator = ValueAnimator.ofFloat(0f, 1f);
+		transitionAnimator.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
+			@Override
+			public void onAnimationUpdate(ValueAnimator animation) {
+				final float fraction = TransitionMath.getAnimatedFraction(
+						animation.getCurrentPlayTime(), animation.getDuration());
+				activeFraction = TransitionMath.interpolate(transitionStartFraction,
+						transitionEndFraction, fraction);
+				paint.setColor(getColorForActiveFraction(activeFraction));
+				invalidateDot();
+			}
+		});
+		transitionAnimator.addListener(new AnimatorListenerAdapter() {
+			@Override
+			public void onAnimationEnd(Animator animation) {
+				if (!transitionCancelled) {
+					showActiveFraction(transitionEndFraction);
+				}
+			}
+		});
+	}
+
+	@Override
+	protected void onDraw(Canvas canvas) {
+		super.onDraw(canvas);
+		canvas.drawCircle(getWidth() / 2f, getHeight() / 2f,
+				getDiameterForActiveFraction(activeFraction) / 2f, paint);
 	}
 
 	/**
-	 * Updates the UI to reflect the current values of the member variables.
+	 * Updates the UI to reflect the current values of the member variables. This method does
+	 * nothing if an update is currently open, since the UI will be updated when the update ends.
 	 */
 	private void reflectParametersInView() {
-		// Reset root view
-		removeAllViews();
+		if (openUpdateCount > 0) {
+			return;
+		}
 
 		// Make root bounds big enough to accommodate the shape in any state
 		final int maxDimension = Math.max(inactiveDiameterPx, activeDiameterPx);
-		setLayoutParams(new LayoutParams(maxDimension, maxDimension));
+		final ViewGroup.LayoutParams params = getLayoutParams();
+
+		if (params == null) {
+			setLayoutParams(new LayoutParams(maxDimension, maxDimension));
+		} else if (params.width != maxDimension || params.height != maxDimension) {
+			params.width = maxDimension;
+			params.height = maxDimension;
+			setLayoutParams(params);
+		}
+
 		setGravity(Gravity.CENTER);
 
-		// Create drawable
-		final int diameter = (state == State.ACTIVE) ? activeDiameterPx : inactiveDiameterPx;
-		final int color = (state == State.ACTIVE) ? activeColor : inactiveColor;
-		shape = new ShapeDrawable(new OvalShape());
-		shape.setIntrinsicWidth(diameter);
-		shape.setIntrinsicHeight(diameter);
-		shape.getPaint().setColor(color);
-
-		// Add drawable to drawableHolder, and add drawableHolder to root layout
-		drawableHolder = new ImageView(getContext());
-		drawableHolder.setImageDrawable(null); // Forces drawableHolder to redraw shape
-		drawableHolder.setImageDrawable(shape);
-		addView(drawableHolder);
+		paint.setColor(getColorForActiveFraction(activeFraction));
+		invalidate();
 	}
 
 	/**
-	 * Sets the inactive diameter of this {@code Dot} and updates the UI to reflect the changes.
+	 * Opens an update, during which calls to the setters of this {@code Dot} do not update the UI.
+	 * Call {@link #endUpdate()} once all parameters have been set to update the UI once. Updates
+	 * can be nested, in which case the UI is updated when the outermost update ends. For example:
+	 * <pre>
+	 * dot.beginUpdate()
+	 * 		.setInactiveDiameter(inactiveDiameterPx)
+	 * 		.setActiveDiameter(activeDiameterPx)
+	 * 		.setInactiveColor(inactiveColor)
+	 * 		.setActiveColor(activeColor)
+	 * 		.endUpdate();
+	 * </pre>
+	 *
+	 * @return this {@code Dot}
+	 */
+	public Dot beginUpdate() {
+		openUpdateCount++;
+		return this;
+	}
+
+	/**
+	 * Closes an update opened by {@link #beginUpdate()}. If this closes the outermost update, the
+	 * UI is updated to reflect all parameters which were set during the update.
+	 *
+	 * @return this {@code Dot}
+	 * @throws IllegalStateException
+	 * 		if there is no open update
+	 */
+	public Dot endUpdate() {
+		if (openUpdateCount == 0) {
+			throw new IllegalStateException("endUpdate() called without a matching beginUpdate()");
+		}
+
+		openUpdateCount--;
+		reflectParametersInView();
+		return this;
+	}
+
+	/**
+	 * Sets the inactive diameter of this {@code Dot} and updates the UI to reflect the changes. If
+	 * an update is open, the UI is not updated until the update ends.
 	 *
 	 * @param inactiveDiameterPx
 	 * 		the diameter of this {@code Dot} when inactive, measured in pixels, not less than 0
@@ -278,7 +371,8 @@ public class Dot extends RelativeLayout {
 	}
 
 	/**
-	 * Sets the active diameter of this {@code Dot} and updates the UI to reflect the changes.
+	 * Sets the active diameter of this {@code Dot} and updates the UI to reflect the changes. If
+	 * an update is open, the UI is not updated until the update ends.
 	 *
 	 * @param activeDiameterPx
 	 * 		the diameter of this {@code Dot} when active, measured in pixels, not less than 0
@@ -297,7 +391,8 @@ public class Dot extends RelativeLayout {
 	}
 
 	/**
-	 * Sets the inactive color of this {@code Dot} and updates the UI to reflect the changes.
+	 * Sets the inactive color of this {@code Dot} and updates the UI to reflect the changes. If
+	 * an update is open, the UI is not updated until the update ends.
 	 *
 	 * @param inactiveColor
 	 * 		the ARGB hex code of this {@code Dot} when inactive
@@ -310,7 +405,8 @@ public class Dot extends RelativeLayout {
 	}
 
 	/**
-	 * Sets the active color of this {@code Dot} and updates the UI to reflect the changes.
+	 * Sets the active color of this {@code Dot} and updates the UI to reflect the changes. If
+	 * an update is open, the UI is not updated until the update ends.
 	 *
 	 * @param activeColor
 	 * 		the ARGB hex code of this {@code Dot} when active
@@ -341,7 +437,8 @@ public class Dot extends RelativeLayout {
 	}
 
 	/**
-	 * Toggles the state of this {@code Dot} between active and inactive.
+	 * Toggles the state of this {@code Dot} between active and inactive. A partially active {@code
+	 * Dot} is made active if it is closer to active than inactive, and inactive otherwise.
 	 *
 	 * @param animate
 	 * 		whether or not the transition should be animated
@@ -351,152 +448,207 @@ public class Dot extends RelativeLayout {
 			setActive(animate);
 		} else if (state == State.ACTIVE) {
 			setInactive(animate);
+		} else if (state == State.PARTIALLY_ACTIVE) {
+			if (activeFraction < 0.5f) {
+				setActive(animate);
+			} else {
+				setInactive(animate);
+			}
 		}
 	}
 
 	/**
-	 * Sets the state of this {@code Dot} to inactive (if not already in this state).
+	 * Sets the state of this {@code Dot} to inactive (if not already in this state). If this {@code
+	 * Dot} is transitioning or partially active, the transition starts from the current appearance.
 	 *
 	 * @param animate
 	 * 		whether or not the transition should be animated
 	 */
 	public void setInactive(boolean animate) {
-		if (state == State.ACTIVE) {
-			int animateBooleanAsInt = animate ? 1 : 0;
+		final boolean alreadyTransitioning = animate && state == State.TRANSITIONING_TO_INACTIVE;
 
-			if (animate) {
-				animateDotSizeChange(activeDiameterPx, inactiveDiameterPx, activeColor,
-						inactiveColor, transitionDurationMs * animateBooleanAsInt);
-			}
+		if (state != State.INACTIVE && !alreadyTransitioning) {
+			transitionToActiveFraction(0f, animate);
 		}
 	}
 
 	/**
-	 * Sets the state of this {@code Dot} to active (if not already in this state).
+	 * Sets the state of this {@code Dot} to active (if not already in this state). If this {@code
+	 * Dot} is transitioning or partially active, the transition starts from the current appearance.
 	 *
 	 * @param animate
 	 * 		whether or not the transition should be animated
 	 */
 	public void setActive(boolean animate) {
-		if (state == State.INACTIVE) {
-			int animateBooleanAsInt = animate ? 1 : 0;
+		final boolean alreadyTransitioning = animate && state == State.TRANSITIONING_TO_ACTIVE;
 
-			animateDotSizeChange(inactiveDiameterPx, activeDiameterPx, inactiveColor, activeColor,
-					transitionDurationMs * animateBooleanAsInt);
+		if (state != State.ACTIVE && !alreadyTransitioning) {
+			transitionToActiveFraction(1f, animate);
 		}
 	}
 
 	/**
-	 * Plays animations to transition this {@code Dot} between states. The state of this {@code
-	 * Dot} is updated by this method when the animation is started, cancelled or ended.
+	 * Displays this {@code Dot} with a blend of the active and inactive diameters and colors. This
+	 * method does not animate, and any current transition is stopped. It is intended to be called
+	 * repeatedly, for example to keep this {@code Dot} synchronised with a scrolling view.
 	 *
-	 * @param startSize
-	 * 		the width and height of the {@code Dot} at the start of the animation, measured in
-	 * 		pixels
-	 * @param endSize
-	 * 		the width and height of the {@code Dot} at the end of the animation, measured in pixels
-	 * @param startColor
-	 * 		the ARGB hex code of the colour of the {@code Dot} at the start of the animation
-	 * @param endColor
-	 * 		the ARGB hex code of the colour of the {@code Dot} at the end of the animation
-	 * @param duration
-	 * 		the duration of the animation, measured in milliseconds
+	 * @param activeFraction
+	 * 		how close this {@code Dot} should be to the active appearance, where 0 is fully
+	 * 		inactive and 1 is fully active
 	 * @throws IllegalArgumentException
-	 * 		if endSize, startSize or duration are less than 0
-	 */
-	private void animateDotSizeChange(final int startSize, final int endSize, final int startColor,
-			final int endColor, final int duration) {
-		if (startSize < 0) {
-			throw new IllegalArgumentException("startSize cannot be less than 0");
-		} else if (endSize < 0) {
-			throw new IllegalArgumentException("endSize cannot be less than 0");
-		} else if (duration < 0) {
-			throw new IllegalArgumentException("duration cannot be less than 0");
+	 * 		if {@code activeFraction} is less than 0 or greater than 1
+	 */
+	public void setActiveFraction(final float activeFraction) {
+		if (activeFraction < 0f || activeFraction > 1f) {
+			throw new IllegalArgumentException("activeFraction must be between 0 and 1");
 		}
 
-		if (currentAnimator != null) {
-			currentAnimator.cancel();
+		if (!transitionAnimator.isStarted() && activeFraction == this.activeFraction) {
+			return; // Nothing to update
 		}
 
-		currentAnimator = new AnimatorSet();
-		currentAnimator.setDuration(duration);
-		currentAnimator.addListener(new AnimatorListenerAdapter() {
-			@Override
-			public void onAnimationStart(Animator animation) {
-				if (state == State.INACTIVE) {
-					state = State.TRANSITIONING_TO_ACTIVE;
-				} else if (state == State.ACTIVE) {
-					state = State.TRANSITIONING_TO_INACTIVE;
-				} else {
-					Log.e(TAG, "[onAnimationStart] [animation started from invalid state]");
-				}
-			}
+		cancelTransition();
+		showActiveFraction(activeFraction);
+	}
 
-			@Override
-			public void onAnimationEnd(Animator animation) {
-				if (state == State.TRANSITIONING_TO_ACTIVE) {
-					state = State.ACTIVE;
-					changeSize(activeDiameterPx); // To be sure resizing happens
-				} else if (state == State.TRANSITIONING_TO_INACTIVE) {
-					state = State.INACTIVE;
-					changeSize(inactiveDiameterPx); // To be sure resizing happens
-				} else {
-					Log.e(TAG, "[onAnimationEnd] [animation ended on invalid state]");
-				}
+	/**
+	 * @return how close this {@code Dot} currently is to the active appearance, where 0 is fully
+	 * inactive and 1 is fully active
+	 */
+	public float getActiveFraction() {
+		return activeFraction;
+	}
 
-				currentAnimator = null;
-			}
+	/**
+	 * Transitions this {@code Dot} from its current appearance to the appearance defined by the
+	 * target fraction. The duration of the transition is proportional to the distance between the
+	 * current and target fractions.
+	 *
+	 * @param targetFraction
+	 * 		the fraction to transition to, where 0 is fully inactive and 1 is fully active
+	 * @param animate
+	 * 		whether or not the transition should be animated
+	 */
+	private void transitionToActiveFraction(final float targetFraction, final boolean animate) {
+		cancelTransition();
 
-			@Override
-			public void onAnimationCancel(Animator animation) {
-				if (state == State.TRANSITIONING_TO_ACTIVE) {
-					changeSize(inactiveDiameterPx); // Make sure sizing isn't between in/active
-					state = State.INACTIVE;
-				} else if (state == State.TRANSITIONING_TO_INACTIVE) {
-					changeSize(activeDiameterPx); // Make sure sizing isn't between in/active
-					state = State.ACTIVE;
-				} else {
-					Log.e(TAG, "[onAnimationCancel] [animation cancelled from invalid state]");
-				}
+		final int duration = (int) (transitionDurationMs * Math.abs(targetFraction -
+				activeFraction));
 
-				currentAnimator = null;
-			}
-		});
+		if (animate && duration > 0) {
+			state = (targetFraction == 1f) ? State.TRANSITIONING_TO_ACTIVE :
+					State.TRANSITIONING_TO_INACTIVE;
+			animateActiveFractionChange(activeFraction, targetFraction, duration);
+		} else {
+			showActiveFraction(targetFraction);
+		}
+	}
 
-		ValueAnimator transitionSize = ValueAnimator.ofInt(startSize, endSize);
-		transitionSize.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-			@Override
-			public void onAnimationUpdate(ValueAnimator animation) {
-				int size = (Integer) animation.getAnimatedValue();
-				changeSize(size);
-			}
-		});
+	/**
+	 * Plays an animation to transition this {@code Dot} between two fractions. The state of this
+	 * {@code Dot} is updated when the animation ends.
+	 *
+	 * @param startFraction
+	 * 		the active fraction at the start of the animation
+	 * @param endFraction
+	 * 		the active fraction at the end of the animation
+	 * @param duration
+	 * 		the duration of the animation, measured in milliseconds
+	 * @throws IllegalArgumentException
+	 * 		if duration is less than 0
+	 */
+	private void animateActiveFractionChange(final float startFraction, final float endFraction,
+			final int duration) {
+		if (duration < 0) {
+			throw new IllegalArgumentException("duration cannot be less than 0");
+		}
 
-		ValueAnimator transitionColor = ValueAnimator.ofFloat(1f, 0f);
-		transitionColor.addUpdateListener(new ValueAnimator.AnimatorUpdateListener() {
-			@Override
-			public void onAnimationUpdate(ValueAnimator animation) {
-				float mixValue = (float) animation.getAnimatedValue();
-				int blendedColor = ColorHelper.blendColors(startColor, endColor, mixValue);
-				shape.getPaint().setColor(blendedColor);
+		transitionStartFraction = startFraction;
+		transitionEndFraction = endFraction;
+		transitionAnimator.setDuration(duration);
+		transitionAnimator.start();
+	}
+
+	/**
+	 * Stops the current transition (if any), leaving this {@code Dot} with its current appearance.
+	 */
+	private void cancelTransition() {
+		if (transitionAnimator.isStarted()) {
+			transitionCancelled = true;
+			transitionAnimator.cancel();
+			transitionCancelled = false;
+
+			if (state == State.TRANSITIONING_TO_ACTIVE ||
+					state == State.TRANSITIONING_TO_INACTIVE) {
+				state = State.PARTIALLY_ACTIVE;
 			}
-		});
+		}
+	}
+
+	/**
+	 * Immediately updates the UI to reflect the supplied fraction, and updates the state to match.
+	 *
+	 * @param activeFraction
+	 * 		the fraction to display, where 0 is fully inactive and 1 is fully active
+	 */
+	private void showActiveFraction(final float activeFraction) {
+		this.activeFraction = activeFraction;
+
+		if (activeFraction == 1f) {
+			state = State.ACTIVE;
+		} else if (activeFraction == 0f) {
+			state = State.INACTIVE;
+		} else {
+			state = State.PARTIALLY_ACTIVE;
+		}
+
+		paint.setColor(getColorForActiveFraction(activeFraction));
+		invalidateDot();
+	}
+
+	/**
+	 * @return the animator which drives the transitions of this {@code Dot}, so that tests can step
+	 * through its frames
+	 */
+	ValueAnimator getTransitionAnimator() {
+		return transitionAnimator;
+	}
 
-		currentAnimator.playTogether(transitionSize, transitionColor);
-		currentAnimator.start();
+	/**
+	 * Calculates the diameter of this {@code Dot} for the supplied fraction.
+	 *
+	 * @param activeFraction
+	 * 		how close the {@code Dot} is to active, where 0 is fully inactive and 1 is fully
+	 * 		active
+	 * @return the diameter, measured in pixels
+	 */
+	private float getDiameterForActiveFraction(final float activeFraction) {
+		return inactiveDiameterPx + (activeDiameterPx - inactiveDiameterPx) * activeFraction;
 	}
 
 	/**
-	 * Sets the size of {@code shape} and updates {@code drawableHolder} to reflect the change.
+	 * Calculates the color of this {@code Dot} for the supplied fraction.
 	 *
-	 * @param newSizePx
-	 * 		the desired size of {@code dot}, measured in pixels
-	 */
-	private void changeSize(int newSizePx) {
-		shape.setIntrinsicWidth(newSizePx);
-		shape.setIntrinsicHeight(newSizePx);
-		drawableHolder.setImageDrawable(null); // Forces ImageView to update drawable
-		drawableHolder.setImageDrawable(shape);
+	 * @param activeFraction
+	 * 		how close the {@code Dot} is to active, where 0 is fully inactive and 1 is fully
+	 * 		active
+	 * @return the ARGB hex code of the color
+	 */
+	private int getColorForActiveFraction(final float activeFraction) {
+		return ColorGradient.blend(activeColor, inactiveColor, activeFraction);
+	}
+
+	/**
+	 * Invalidates the area of this {@code Dot} which can contain the drawn shape, without
+	 * requesting a new layout. The area is large enough to contain the shape in any state, so the
+	 * previous appearance is always covered.
+	 */
+	private void invalidateDot() {
+		final int maxDiameter = Math.max(inactiveDiameterPx, activeDiameterPx);
+		final int left = (getWidth() - maxDiameter) / 2;
+		final int top = (getHeight() - maxDiameter) / 2;
+
+		invalidate(left, top, left + maxDiameter + 1, top + maxDiameter + 1);
 	}
 
 	/**
@@ -525,6 +677,13 @@ public class Dot extends RelativeLayout {
 		 * A {@code Dot} in this {@code State} does not currently reflect either the active or
 		 * inactive parameters, and is transitioning towards the inactive {@code State}.
 		 */
-		TRANSITIONING_TO_INACTIVE
+		TRANSITIONING_TO_INACTIVE,
+
+		/**
+		 * A {@code Dot} in this {@code State} does not currently reflect either the active or
+		 * inactive parameters, and is not transitioning. This occurs when a partial fraction is
+		 * supplied to {@link Dot#setActiveFraction(float)}, or when a transition is interrupted.
+		 */
+		PARTIALLY_ACTIVE
 	}
 }
\ No newline at end of file
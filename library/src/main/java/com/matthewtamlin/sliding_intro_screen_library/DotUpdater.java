@@ -0,0 +1,280 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+/**
+ * Tracks the active item and scroll position of a row of dots, and determines which dots must
+ * change when either is updated. Only the dots whose appearance changes are passed to the {@link
+ * Dots}, so the cost of an update does not depend on the number of items. This class has no
+ * Android dependencies, so that it can be benchmarked on a plain JVM.
+ */
+final class DotUpdater {
+	/**
+	 * The dots updated by this {@code DotUpdater}.
+	 */
+	private final Dots dots;
+
+	/**
+	 * The total number of items represented.
+	 */
+	private int numberOfItems;
+
+	/**
+	 * The index of the currently selected item, starting at 0.
+	 */
+	private int activeItemIndex;
+
+	/**
+	 * The index of the first of the two dots updated by the last call to {@link
+	 * #setScrollPosition(int, float)}, or -1 if the dots have not been updated by scrolling since
+	 * the active item was last set.
+	 */
+	private int scrollPosition = -1;
+
+	/**
+	 * Constructs a new {@code DotUpdater}.
+	 *
+	 * @param dots
+	 * 		the dots to update, not null
+	 */
+	DotUpdater(final Dots dots) {
+		this.dots = dots;
+	}
+
+	/**
+	 * Records the state of newly created dots, where only the dot at {@code activeItemIndex} is
+	 * active. The dots are not updated.
+	 *
+	 * @param numberOfItems
+	 * 		the number of items represented
+	 * @param activeItemIndex
+	 * 		the index of the active item
+	 */
+	void reset(final int numberOfItems, final int activeItemIndex) {
+		this.numberOfItems = numberOfItems;
+		this.activeItemIndex = activeItemIndex;
+		scrollPosition = -1;
+	}
+
+	/**
+	 * @return the number of items represented
+	 */
+	int getNumberOfItems() {
+		return numberOfItems;
+	}
+
+	/**
+	 * @return the index of the dot which is currently active
+	 */
+	int getActiveItemIndex() {
+		return activeItemIndex;
+	}
+
+	/**
+	 * Changes the active item. Only the previously active dot, the newly active dot and any dots
+	 * left partially active by scrolling are updated.
+	 *
+	 * @param activeItemIndex
+	 * 		the index of the active item, starting at 0
+	 * @param animate
+	 * 		whether the update should be animated
+	 * @throws IllegalArgumentException
+	 * 		if {@code activeItemIndex} does not refer to an item
+	 */
+	void setActiveItem(final int activeItemIndex, final boolean animate) {
+		if (activeItemIndex > numberOfItems - 1) {
+			throw new IllegalArgumentException("newActiveItemIndex exceeds the number of items");
+		} else if (activeItemIndex < 0) {
+			throw new IllegalArgumentException("newActiveItemIndex must be greater than 0");
+		}
+
+		final int previousActiveItemIndex = this.activeItemIndex;
+		this.activeItemIndex = activeItemIndex;
+
+		// Dots may have been left partially active by scrolling
+		if (scrollPosition != -1) {
+			deactivateDotIfNotInRange(scrollPosition, activeItemIndex, activeItemIndex, animate);
+			deactivateDotIfNotInRange(scrollPosition + 1, activeItemIndex, activeItemIndex,
+					animate);
+			scrollPosition = -1;
+		}
+
+		deactivateDotIfNotInRange(previousActiveItemIndex, activeItemIndex, activeItemIndex,
+				animate);
+		dots.setActive(activeItemIndex, animate);
+	}
+
+	/**
+	 * Reflects a scroll between two consecutive items. Only the two dots involved in the scroll
+	 * and any dots involved in the previous update are updated.
+	 *
+	 * @param position
+	 * 		the index of the first item currently displayed
+	 * @param positionOffset
+	 * 		how far the scroll has progressed from {@code position} towards {@code position + 1},
+	 * 		between 0 and 1
+	 * @throws IllegalArgumentException
+	 * 		if {@code position} does not refer to an item, or if {@code positionOffset} is not
+	 * 		between 0 and 1
+	 */
+	void setScrollPosition(final int position, final float positionOffset) {
+		if (position > numberOfItems - 1) {
+			throw new IllegalArgumentException("position exceeds the number of items");
+		} else if (position < 0) {
+			throw new IllegalArgumentException("position must be greater than 0");
+		} else if (positionOffset < 0f || positionOffset > 1f) {
+			throw new IllegalArgumentException("positionOffset must be between 0 and 1");
+		}
+
+		final int nextPosition = Math.min(position + 1, numberOfItems - 1);
+
+		// Dots not involved in the current scroll must be fully inactive
+		if (scrollPosition != -1) {
+			deactivateDotIfNotInRange(scrollPosition, position, nextPosition, false);
+			deactivateDotIfNotInRange(scrollPosition + 1, position, nextPosition, false);
+		}
+
+		deactivateDotIfNotInRange(activeItemIndex, position, nextPosition, false);
+
+		if (nextPosition == position) {
+			dots.setActiveFraction(position, 1f);
+		} else {
+			dots.setActiveFraction(position, 1f - positionOffset);
+			dots.setActiveFraction(nextPosition, positionOffset);
+		}
+
+		scrollPosition = position;
+		activeItemIndex = (positionOffset < 0.5f) ? position : nextPosition;
+	}
+
+	/**
+	 * Returns any dots left partially active by scrolling to their resting state, so that the dot
+	 * at the active index is the only active dot. This must be called before dots are inserted or
+	 * removed, since the indices of the dots updated by scrolling are then no longer valid.
+	 */
+	void settleScrollPosition() {
+		if (scrollPosition != -1) {
+			deactivateDotIfNotInRange(scrollPosition, activeItemIndex, activeItemIndex, false);
+			deactivateDotIfNotInRange(scrollPosition + 1, activeItemIndex, activeItemIndex, false);
+			scrollPosition = -1;
+
+			if (activeItemIndex >= 0 && activeItemIndex < numberOfItems) {
+				dots.setActive(activeItemIndex, false);
+			}
+		}
+	}
+
+	/**
+	 * Records the insertion of an item. The active item is unchanged, unless there were previously
+	 * no items in which case the new item becomes active. The dot for the new item is not updated,
+	 * and should be created to match {@link #getActiveItemIndex()} after this method returns.
+	 *
+	 * @param index
+	 * 		the index the item was inserted at
+	 */
+	void onItemInserted(final int index) {
+		if (numberOfItems == 0) {
+			activeItemIndex = 0;
+		} else if (index <= activeItemIndex) {
+			activeItemIndex++;
+		}
+
+		numberOfItems++;
+	}
+
+	/**
+	 * Records the removal of an item. If the active item was removed, the item which takes its
+	 * place becomes active and its dot is updated. This method must be called after the dot has
+	 * been removed.
+	 *
+	 * @param index
+	 * 		the index the item was removed from
+	 */
+	void onItemRemoved(final int index) {
+		numberOfItems--;
+
+		if (index < activeItemIndex) {
+			activeItemIndex--;
+		} else if (index == activeItemIndex && numberOfItems > 0) {
+			activeItemIndex = Math.min(index, numberOfItems - 1);
+			dots.setActive(activeItemIndex, false);
+		}
+	}
+
+	/**
+	 * Makes the dot at {@code index} inactive, unless it lies between {@code rangeStart} and {@code
+	 * rangeEnd} inclusive. Indices which do not refer to an existing dot are ignored.
+	 *
+	 * @param index
+	 * 		the index of the dot to deactivate
+	 * @param rangeStart
+	 * 		the first index to leave unchanged
+	 * @param rangeEnd
+	 * 		the last index to leave unchanged
+	 * @param animate
+	 * 		whether the update should be animated
+	 */
+	private void deactivateDotIfNotInRange(final int index, final int rangeStart,
+			final int rangeEnd, final boolean animate) {
+		final boolean indexIsValid = index >= 0 && index < numberOfItems;
+		final boolean indexIsInRange = index >= rangeStart && index <= rangeEnd;
+
+		if (indexIsValid && !indexIsInRange) {
+			if (animate) {
+				dots.setInactive(index, true);
+			} else {
+				dots.setActiveFraction(index, 0f);
+			}
+		}
+	}
+
+	/**
+	 * The dots updated by a {@code DotUpdater}, identified by index.
+	 */
+	interface Dots {
+		/**
+		 * Makes a dot fully active.
+		 *
+		 * @param index
+		 * 		the index of the dot
+		 * @param animate
+		 * 		whether the change should be animated
+		 */
+		void setActive(int index, boolean animate);
+
+		/**
+		 * Makes a dot fully inactive.
+		 *
+		 * @param index
+		 * 		the index of the dot
+		 * @param animate
+		 * 		whether the change should be animated
+		 */
+		void setInactive(int index, boolean animate);
+
+		/**
+		 * Immediately sets how close a dot is to the active appearance, without animating.
+		 *
+		 * @param index
+		 * 		the index of the dot
+		 * @param activeFraction
+		 * 		how close the dot should be to the active appearance, where 0 is fully inactive
+		 * 		and 1 is fully active
+		 */
+		void setActiveFraction(int index, float activeFraction);
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+/**
+ * Records durations in logarithmically sized buckets, so that percentiles can be estimated without
+ * storing every duration. Each power of two is divided into four buckets, so estimates are within
+ * 25% of the true value. Recording a duration does not allocate, so durations can be recorded on
+ * every frame. This class is not thread safe.
+ */
+public final class DurationHistogram {
+	/**
+	 * The number of bits used to divide each power of two into buckets.
+	 */
+	private static final int SUB_BUCKET_BITS = 2;
+
+	/**
+	 * The number of buckets each power of two is divided into.
+	 */
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * The number of recorded durations in each bucket.
+	 */
+	private final long[] bucketCounts = new long[64 * SUB_BUCKET_COUNT];
+
+	/**
+	 * The number of recorded durations.
+	 */
+	private long count = 0;
+
+	/**
+	 * The sum of the recorded durations, measured in nanoseconds.
+	 */
+	private long totalNanos = 0;
+
+	/**
+	 * The longest recorded duration, measured in nanoseconds.
+	 */
+	private long maxNanos = 0;
+
+	/**
+	 * Records a duration.
+	 *
+	 * @param durationNanos
+	 * 		the duration to record, measured in nanoseconds, negative values are recorded as 0
+	 */
+	public void record(final long durationNanos) {
+		final long duration = Math.max(durationNanos, 0);
+
+		bucketCounts[getBucketIndex(duration)]++;
+		count++;
+		totalNanos += duration;
+		maxNanos = Math.max(maxNanos, duration);
+	}
+
+	/**
+	 * Removes all recorded durations.
+	 */
+	public void reset() {
+		for (int i = 0; i < bucketCounts.length; i++) {
+			bucketCounts[i] = 0;
+		}
+
+		count = 0;
+		totalNanos = 0;
+		maxNanos = 0;
+	}
+
+	/**
+	 * @return the number of recorded durations
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the sum of the recorded durations, measured in nanoseconds
+	 */
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+
+	/**
+	 * @return the longest recorded duration, measured in nanoseconds, 0 if no durations have been
+	 * recorded
+	 */
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	/**
+	 * @return the mean of the recorded durations, measured in nanoseconds, 0 if no durations have
+	 * been recorded
+	 */
+	public long getMeanNanos() {
+		return (count == 0) ? 0 : totalNanos / count;
+	}
+
+	/**
+	 * Estimates the duration below which a proportion of the recorded durations fall.
+	 *
+	 * @param percentile
+	 * 		the percentile to estimate, between 0 and 100
+	 * @return the estimated duration, measured in nanoseconds, 0 if no durations have been
+	 * recorded
+	 * @throws IllegalArgumentException
+	 * 		if {@code percentile} is not between 0 and 100
+	 */
+	public long getPercentileNanos(final double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("percentile must be between 0 and 100");
+		}
+
+		if (count == 0) {
+			return 0;
+		}
+
+		final long targetCount = Math.max((long) Math.ceil(count * percentile / 100), 1);
+		long cumulativeCount = 0;
+
+		for (int i = 0; i < bucketCounts.length; i++) {
+			cumulativeCount += bucketCounts[i];
+
+			if (cumulativeCount >= targetCount) {
+				return Math.min(getBucketUpperBound(i), maxNanos);
+			}
+		}
+
+		return maxNanos;
+	}
+
+	/**
+	 * Counts the recorded durations which are longer than a threshold. Durations in the same
+	 * bucket as the threshold are not counted.
+	 *
+	 * @param thresholdNanos
+	 * 		the threshold, measured in nanoseconds
+	 * @return the number of recorded durations longer than the threshold
+	 */
+	public long getCountAbove(final long thresholdNanos) {
+		long countAbove = 0;
+
+		for (int i = getBucketIndex(Math.max(thresholdNanos, 0)) + 1; i < bucketCounts.length;
+				i++) {
+			countAbove += bucketCounts[i];
+		}
+
+		return countAbove;
+	}
+
+	/**
+	 * Finds the bucket which records a duration.
+	 *
+	 * @param duration
+	 * 		the duration, not negative
+	 * @return the index of the bucket
+	 */
+	static int getBucketIndex(final long duration) {
+		if (duration < SUB_BUCKET_COUNT) {
+			return (int) duration;
+		}
+
+		final int highestBit = 63 - Long.numberOfLeadingZeros(duration);
+		final int subBucket = (int) (duration >>> (highestBit - SUB_BUCKET_BITS)) &
+				(SUB_BUCKET_COUNT - 1);
+
+		return (highestBit - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+	}
+
+	/**
+	 * Finds the largest duration recorded by a bucket.
+	 *
+	 * @param index
+	 * 		the index of the bucket
+	 * @return the largest duration in the bucket
+	 */
+	static long getBucketUpperBound(final int index) {
+		if (index < SUB_BUCKET_COUNT) {
+			return index;
+		}
+
+		final int shift = index / SUB_BUCKET_COUNT - 1;
+		final long subBucket = index % SUB_BUCKET_COUNT;
+		final long upperBound = ((SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+
+		// The final bucket has no upper bound within the range of a long
+		return (upperBound < 0) ? Long.MAX_VALUE : upperBound;
+	}
+}
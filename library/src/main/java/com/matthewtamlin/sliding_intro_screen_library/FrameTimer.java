@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.view.Choreographer;
+
+/**
+ * Records the time between consecutive frames in a {@link DurationHistogram}, using the frame
+ * callbacks of {@link Choreographer}. Timing starts when {@link #start()} is called and stops when
+ * {@link #stop()} is called. This class must only be used on the main thread.
+ */
+@TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+final class FrameTimer implements Choreographer.FrameCallback {
+	/**
+	 * Receives the frame durations.
+	 */
+	private final DurationHistogram frameDurations;
+
+	/**
+	 * The start time of the previous frame, measured in nanoseconds, -1 if no frame has occurred
+	 * since timing started.
+	 */
+	private long previousFrameTimeNanos = -1;
+
+	/**
+	 * Whether or not frames are currently being timed.
+	 */
+	private boolean running = false;
+
+	/**
+	 * Constructs a new {@code FrameTimer}.
+	 *
+	 * @param frameDurations
+	 * 		receives the frame durations, not null
+	 */
+	FrameTimer(final DurationHistogram frameDurations) {
+		this.frameDurations = frameDurations;
+	}
+
+	/**
+	 * Starts timing frames. Does nothing if frames are already being timed.
+	 */
+	void start() {
+		if (!running) {
+			running = true;
+			previousFrameTimeNanos = -1;
+			Choreographer.getInstance().postFrameCallback(this);
+		}
+	}
+
+	/**
+	 * Stops timing frames.
+	 */
+	void stop() {
+		running = false;
+		Choreographer.getInstance().removeFrameCallback(this);
+	}
+
+	@Override
+	public void doFrame(final long frameTimeNanos) {
+		if (running) {
+			if (previousFrameTimeNanos != -1) {
+				frameDurations.record(frameTimeNanos - previousFrameTimeNanos);
+			}
+
+			previousFrameTimeNanos = frameTimeNanos;
+			Choreographer.getInstance().postFrameCallback(this);
+		}
+	}
+}
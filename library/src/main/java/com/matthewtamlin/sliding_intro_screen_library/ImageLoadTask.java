@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.graphics.Bitmap;
+import android.os.AsyncTask;
+import android.util.Log;
+
+import java.io.IOException;
+
+/**
+ * Decodes an {@link ImageSource} on a background thread and delivers the result on the main
+ * thread. The result is added to a {@link BitmapCache} before it is delivered, and the receiver is
+ * responsible for releasing it. The result is not delivered if the task is cancelled.
+ */
+final class ImageLoadTask extends AsyncTask<Void, Void, Bitmap> {
+	/**
+	 * Used during debugging and error reporting to identify this class.
+	 */
+	private static final String TAG = "[ImageLoadTask]";
+
+	/**
+	 * The source to decode.
+	 */
+	private final ImageSource source;
+
+	/**
+	 * The width of the bounds the image will be displayed in, measured in pixels.
+	 */
+	private final int requestedWidth;
+
+	/**
+	 * The height of the bounds the image will be displayed in, measured in pixels.
+	 */
+	private final int requestedHeight;
+
+	/**
+	 * The cache to add the decoded image to.
+	 */
+	private final BitmapCache cache;
+
+	/**
+	 * Receives the decoded image.
+	 */
+	private final OnImageLoadedListener listener;
+
+	/**
+	 * Constructs a new {@code ImageLoadTask}. Call {@link #start()} to begin decoding.
+	 *
+	 * @param source
+	 * 		the source to decode, not null
+	 * @param requestedWidth
+	 * 		the width of the bounds the image will be displayed in, measured in pixels
+	 * @param requestedHeight
+	 * 		the height of the bounds the image will be displayed in, measured in pixels
+	 * @param cache
+	 * 		the cache to add the decoded image to, not null
+	 * @param listener
+	 * 		receives the decoded image, not null
+	 */
+	ImageLoadTask(final ImageSource source, final int requestedWidth, final int requestedHeight,
+			final BitmapCache cache, final OnImageLoadedListener listener) {
+		this.source = source;
+		this.requestedWidth = requestedWidth;
+		this.requestedHeight = requestedHeight;
+		this.cache = cache;
+		this.listener = listener;
+	}
+
+	/**
+	 * Starts decoding the image. Multiple tasks may decode concurrently.
+	 *
+	 * @return this task
+	 */
+	ImageLoadTask start() {
+		executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+		return this;
+	}
+
+	@Override
+	protected Bitmap doInBackground(final Void... params) {
+		try {
+			return source.decode(requestedWidth, requestedHeight, cache.getBitmapPool());
+		} catch (final IOException e) {
+			Log.e(TAG, "[doInBackground] [image could not be loaded]", e);
+			return null;
+		}
+	}
+
+	@Override
+	protected void onPostExecute(final Bitmap image) {
+		if (image == null) {
+			listener.onImageLoaded(source, null);
+		} else {
+			final Bitmap cachedImage = cache.put(source, requestedWidth, requestedHeight, image);
+			listener.onImageLoaded(source, cachedImage);
+		}
+	}
+
+	@Override
+	protected void onCancelled(final Bitmap image) {
+		// The image was never displayed, so its memory can be reused immediately
+		if (image != null && cache.getBitmapPool() != null) {
+			cache.getBitmapPool().put(image);
+		}
+	}
+
+	/**
+	 * Receives images decoded by an {@code ImageLoadTask}.
+	 */
+	interface OnImageLoadedListener {
+		/**
+		 * Called on the main thread when an image has been decoded.
+		 *
+		 * @param source
+		 * 		the source which was decoded
+		 * @param image
+		 * 		the decoded image, null if the source could not be decoded; must be released from
+		 * 		the cache when no longer displayed
+		 */
+		void onImageLoaded(ImageSource source, Bitmap image);
+	}
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.content.ContentResolver;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.util.TypedValue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A source of an encoded image which can be decoded on demand. Use the static factory methods to
+ * create sources for resources, files, URIs and streams. Sources are decoded by {@link
+ * ParallaxPage} on a background thread, and are sampled down to the size they will be displayed
+ * at.
+ */
+public abstract class ImageSource {
+	/**
+	 * Creates a source which reads an image from a resource. The resource is resolved against the
+	 * current configuration of {@code resources} each time it is used, so sources which resolve to
+	 * different qualified files (for example in {@code raw} and {@code raw-land}) do not share
+	 * decoded images.
+	 *
+	 * @param resources
+	 * 		the resources to read from, not null
+	 * @param resourceId
+	 * 		the ID of the image resource
+	 * @return the new source
+	 * @throws IllegalArgumentException
+	 * 		if {@code resources} is null
+	 */
+	public static ImageSource fromResource(final Resources resources, final int resourceId) {
+		if (resources == null) {
+			throw new IllegalArgumentException("resources cannot be null");
+		}
+
+		return new ImageSource() {
+			@Override
+			protected InputStream openStream() throws IOException {
+				return resources.openRawResource(resourceId);
+			}
+
+			@Override
+			protected Object getCacheKey() {
+				// Resources with qualifiers resolve to different files in different configurations
+				final TypedValue value = new TypedValue();
+
+				try {
+					resources.getValue(resourceId, value, true);
+				} catch (final Resources.NotFoundException e) {
+					return "resource:" + resourceId;
+				}
+
+				return "resource:" + resourceId + ":" + value.string;
+			}
+		};
+	}
+
+	/**
+	 * Creates a source which reads an image from a file.
+	 *
+	 * @param file
+	 * 		the file to read from, not null
+	 * @return the new source
+	 * @throws IllegalArgumentException
+	 * 		if {@code file} is null
+	 */
+	public static ImageSource fromFile(final File file) {
+		if (file == null) {
+			throw new IllegalArgumentException("file cannot be null");
+		}
+
+		return new ImageSource() {
+			@Override
+			protected InputStream openStream() throws IOException {
+				return new FileInputStream(file);
+			}
+
+			@Override
+			protected Object getCacheKey() {
+				return "file:" + file.getAbsolutePath();
+			}
+		};
+	}
+
+	/**
+	 * Creates a source which reads an image from a URI, such as a content URI.
+	 *
+	 * @param contentResolver
+	 * 		the resolver to open the URI with, not null
+	 * @param uri
+	 * 		the URI to read from, not null
+	 * @return the new source
+	 * @throws IllegalArgumentException
+	 * 		if either argument is null
+	 */
+	public static ImageSource fromUri(final ContentResolver contentResolver, final Uri uri) {
+		if (contentResolver == null) {
+			throw new IllegalArgumentException("contentResolver cannot be null");
+		} else if (uri == null) {
+			throw new IllegalArgumentException("uri cannot be null");
+		}
+
+		return new ImageSource() {
+			@Override
+			protected InputStream openStream() throws IOException {
+				final InputStream stream = contentResolver.openInputStream(uri);
+
+				if (stream == null) {
+					throw new IOException("could not open uri " + uri);
+				}
+
+				return stream;
+			}
+
+			@Override
+			protected Object getCacheKey() {
+				return uri;
+			}
+		};
+	}
+
+	/**
+	 * Creates a source which reads an image from a stream. Since streams can only be read once,
+	 * the contents of the stream are copied into memory the first time the source is decoded, and
+	 * the stream is then closed.
+	 *
+	 * @param stream
+	 * 		the stream to read from, not null
+	 * @return the new source
+	 * @throws IllegalArgumentException
+	 * 		if {@code stream} is null
+	 */
+	public static ImageSource fromStream(final InputStream stream) {
+		if (stream == null) {
+			throw new IllegalArgumentException("stream cannot be null");
+		}
+
+		return new ImageSource() {
+			private byte[] contents;
+
+			@Override
+			protected synchronized InputStream openStream() throws IOException {
+				if (contents == null) {
+					contents = readFully(stream);
+				}
+
+				return new ByteArrayInputStream(contents);
+			}
+		};
+	}
+
+	/**
+	 * Opens a new stream containing the encoded image. The stream is closed by the caller.
+	 *
+	 * @return the stream
+	 * @throws IOException
+	 * 		if the stream cannot be opened
+	 */
+	protected abstract InputStream openStream() throws IOException;
+
+	/**
+	 * Returns an object which identifies the encoded image, used by {@link BitmapCache} to share
+	 * decoded images between sources. Sources with equal keys must describe the same image. The
+	 * default implementation returns this source, so that only this source can share its images.
+	 *
+	 * @return the key, not null
+	 */
+	protected Object getCacheKey() {
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}Sources are equal if their cache keys are equal, since they then describe the
+	 * same image. Sources which use the default cache key are only equal to themselves.
+	 */
+	@Override
+	public boolean equals(final Object object) {
+		if (object == this) {
+			return true;
+		} else if (!(object instanceof ImageSource)) {
+			return false;
+		}
+
+		final Object key = getCacheKey();
+		final Object otherKey = ((ImageSource) object).getCacheKey();
+
+		// The default key is the source itself, which must not be compared recursively
+		return key != this && otherKey != object && key.equals(otherKey);
+	}
+
+	@Override
+	public int hashCode() {
+		final Object key = getCacheKey();
+		return (key == this) ? System.identityHashCode(this) : key.hashCode();
+	}
+
+	/**
+	 * Decodes the image, sampled down so that it is no larger than necessary to be scaled to fit
+	 * the requested bounds. This method performs I/O and should not be called on the main thread.
+	 *
+	 * @param requestedWidth
+	 * 		the width of the bounds the image will be displayed in, measured in pixels, or 0 or
+	 * 		less if the width is not constrained
+	 * @param requestedHeight
+	 * 		the height of the bounds the image will be displayed in, measured in pixels, or 0 or
+	 * 		less if the height is not constrained
+	 * @return the decoded image, not null
+	 * @throws IOException
+	 * 		if the image cannot be read or decoded
+	 */
+	public Bitmap decode(final int requestedWidth, final int requestedHeight) throws IOException {
+		return decode(requestedWidth, requestedHeight, null);
+	}
+
+	/**
+	 * Decodes the image, sampled down so that it is no larger than necessary to be scaled to fit
+	 * the requested bounds. The memory of a suitable image in the pool is reused if possible. The
+	 * decoded image is mutable so that it can be returned to a pool once discarded. This method
+	 * performs I/O and should not be called on the main thread.
+	 *
+	 * @param requestedWidth
+	 * 		the width of the bounds the image will be displayed in, measured in pixels, or 0 or
+	 * 		less if the width is not constrained
+	 * @param requestedHeight
+	 * 		the height of the bounds the image will be displayed in, measured in pixels, or 0 or
+	 * 		less if the height is not constrained
+	 * @param pool
+	 * 		the pool to reuse memory from, null to always allocate new memory
+	 * @return the decoded image, not null
+	 * @throws IOException
+	 * 		if the image cannot be read or decoded
+	 */
+	public Bitmap decode(final int requestedWidth, final int requestedHeight,
+			final BitmapPool pool) throws IOException {
+		final BitmapFactory.Options options = new BitmapFactory.Options();
+
+		// First pass only reads the image dimensions
+		options.inJustDecodeBounds = true;
+		decodeStream(options);
+
+		options.inSampleSize = calculateSampleSize(options.outWidth, options.outHeight,
+				requestedWidth, requestedHeight);
+		options.inJustDecodeBounds = false;
+		options.inMutable = true;
+
+		if (pool != null) {
+			final int sampledWidth = divideRoundingUp(options.outWidth, options.inSampleSize);
+			final int sampledHeight = divideRoundingUp(options.outHeight, options.inSampleSize);
+
+			options.inBitmap = pool.get(sampledWidth, sampledHeight, options.inSampleSize,
+					options.inPreferredConfig);
+		}
+
+		Bitmap bitmap;
+
+		try {
+			bitmap = decodeStream(options);
+		} catch (final IllegalArgumentException e) {
+			if (options.inBitmap == null) {
+				throw e;
+			}
+
+			// Thrown if the pooled image turns out to be unsuitable, so decode into new memory
+			pool.put(options.inBitmap);
+			options.inBitmap = null;
+			bitmap = decodeStream(options);
+		}
+
+		if (bitmap == null) {
+			throw new IOException("image could not be decoded");
+		}
+
+		return bitmap;
+	}
+
+	/**
+	 * Opens a new stream and decodes it using the supplied options.
+	 *
+	 * @param options
+	 * 		the options to decode with
+	 * @return the decoded image, null if the options only request the bounds or if the image
+	 * cannot be decoded
+	 * @throws IOException
+	 * 		if the stream cannot be opened
+	 */
+	private Bitmap decodeStream(final BitmapFactory.Options options) throws IOException {
+		final InputStream stream = openStream();
+
+		try {
+			return BitmapFactory.decodeStream(stream, null, options);
+		} finally {
+			stream.close();
+		}
+	}
+
+	/**
+	 * Calculates the largest power of two sample size which decodes an image no smaller than it
+	 * will be displayed when scaled to fit within the requested bounds.
+	 *
+	 * @param width
+	 * 		the width of the encoded image, measured in pixels
+	 * @param height
+	 * 		the height of the encoded image, measured in pixels
+	 * @param requestedWidth
+	 * 		the width of the bounds, measured in pixels, or 0 or less if the width is not
+	 * 		constrained
+	 * @param requestedHeight
+	 * 		the height of the bounds, measured in pixels, or 0 or less if the height is not
+	 * 		constrained
+	 * @return the sample size, at least 1
+	 */
+	static int calculateSampleSize(final int width, final int height, final int requestedWidth,
+			final int requestedHeight) {
+		final float widthRatio = (requestedWidth > 0) ? (float) width / requestedWidth : 0f;
+		final float heightRatio = (requestedHeight > 0) ? (float) height / requestedHeight : 0f;
+
+		// When scaled to fit, the dimension with the largest ratio determines the displayed size
+		final float maxRatio = Math.max(widthRatio, heightRatio);
+
+		int sampleSize = 1;
+
+		while (sampleSize * 2 <= maxRatio) {
+			sampleSize *= 2;
+		}
+
+		return sampleSize;
+	}
+
+	/**
+	 * Divides one positive integer by another and rounds the result up, to match the dimensions
+	 * produced by sampling.
+	 *
+	 * @param dividend
+	 * 		the number to divide
+	 * @param divisor
+	 * 		the number to divide by, greater than zero
+	 * @return the result
+	 */
+	private static int divideRoundingUp(final int dividend, final int divisor) {
+		return (dividend + divisor - 1) / divisor;
+	}
+
+	/**
+	 * Reads the remaining contents of a stream and closes it.
+	 *
+	 * @param stream
+	 * 		the stream to read
+	 * @return the contents of the stream
+	 * @throws IOException
+	 * 		if the stream cannot be read
+	 */
+	private static byte[] readFully(final InputStream stream) throws IOException {
+		final ByteArrayOutputStream contents = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[16 * 1024];
+
+		try {
+			int bytesRead;
+
+			while ((bytesRead = stream.read(buffer)) != -1) {
+				contents.write(buffer, 0, bytesRead);
+			}
+		} finally {
+			stream.close();
+		}
+
+		return contents.toByteArray();
+	}
+}
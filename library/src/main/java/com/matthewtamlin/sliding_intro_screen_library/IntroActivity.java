@@ -16,11 +16,18 @@
 
 package com.matthewtamlin.sliding_intro_screen_library;
 
+import android.graphics.drawable.Drawable;
+import android.os.Build;
 import android.os.Bundle;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.support.v4.view.ViewPager;
 import android.support.v7.app.AppCompatActivity;
+import android.view.LayoutInflater;
 import android.view.View;
 import android.view.View.OnClickListener;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver.OnPreDrawListener;
 import android.widget.Button;
 import android.widget.RelativeLayout;
 
@@ -28,18 +35,20 @@ import com.matthewtamlin.android_utilities_library.collections.ArrayListWithCall
 import com.matthewtamlin.android_utilities_library.collections.ArrayListWithCallbacks.OnItemAddedListener;
 import com.matthewtamlin.android_utilities_library.collections.ArrayListWithCallbacks.OnItemRemovedListener;
 import com.matthewtamlin.android_utilities_library.collections.ArrayListWithCallbacks.OnListClearedListener;
-import com.matthewtamlin.android_utilities_library.helpers.ColorHelper;
 import com.matthewtamlin.android_utilities_library.helpers.SemiFullScreenHelper;
 
+import java.util.Collection;
+
 
 
 /**
  * Displays an introduction activity to the user. The activity features multiple screens hosted in
  * a {@link ViewPager}, and navigation controls to control the user's flow through the activity. To
  * use this class, subclass it and override {@link #generatePages()} and {@link
- * #progressToNextActivity()}. It is recommended that the manifest item for this activity specifies
- * {@code android:noHistory="true"} to prevent the user from navigating back to this activity once
- * finished.
+ * #progressToNextActivity()}. Pages can be supplied directly, or as {@link PageFactory}s so that
+ * each page is only created when first displayed. It is recommended that the manifest item for
+ * this activity specifies {@code android:noHistory="true"} to prevent the user from navigating
+ * back to this activity once finished.
  */
 public abstract class IntroActivity extends AppCompatActivity
 		implements ViewPager.OnPageChangeListener, OnItemAddedListener, OnItemRemovedListener,
@@ -52,9 +61,17 @@ public abstract class IntroActivity extends AppCompatActivity
 	protected final ArrayListWithCallbacks<Page> pages = new ArrayListWithCallbacks<>();
 
 	/**
-	 * Adapts the elements of {@code pages} to {@code viewPager}.
+	 * Creates the pages to display in {@code viewPager}, as an alternative to {@code pages}. Only
+	 * one of {@code pages} and {@code pageFactories} can contain elements.
 	 */
-	protected final PageAdapter adapter = new PageAdapter(getSupportFragmentManager(), pages);
+	protected final ArrayListWithCallbacks<PageFactory> pageFactories =
+			new ArrayListWithCallbacks<>();
+
+	/**
+	 * Adapts the elements of {@code pages} or {@code pageFactories} to {@code viewPager}.
+	 */
+	protected final PageAdapter adapter = new PageAdapter(getSupportFragmentManager(), pages,
+			pageFactories);
 
 	/**
 	 * Animates the elements of {@code pages} when {@code viewPager} scrolls.
@@ -88,22 +105,176 @@ public abstract class IntroActivity extends AppCompatActivity
 
 	/**
 	 * Displays a series of dots to the user to indicate their progress through the intro screen.
+	 * While {@link #setUseCanvasPageIndicator(boolean)} is enabled, this indicator is not displayed
+	 * and {@link #getPageIndicator()} returns the indicator which is displayed instead.
 	 */
 	protected SelectionIndicator pageIndicator;
 
+	/**
+	 * Draws the page indicator while {@link #setUseCanvasPageIndicator(boolean)} is enabled, null
+	 * otherwise.
+	 */
+	private CanvasSelectionIndicator canvasPageIndicator = null;
+
 	/**
 	 * Constant used to save and restore the current page on configuration changes.
 	 */
 	private static final String STATE_KEY_CURRENT_PAGE_INDEX = "currentPageIndex";
 
+	/**
+	 * Whether or not the views of each page should be given hardware layers while scrolling.
+	 */
+	private boolean useHardwareLayersWhenScrolling = true;
+
+	/**
+	 * Whether or not {@code viewPager} is currently scrolling.
+	 */
+	private boolean scrolling = false;
+
+	/**
+	 * The number of pages to retain on either side of the current page in {@code viewPager}.
+	 */
+	private int offscreenPageLimit = 1;
+
+	/**
+	 * Whether or not {@code pages} or {@code pageFactories} have changed during the current page
+	 * update.
+	 */
+	private boolean pagesChangedDuringUpdate = false;
+
+	/**
+	 * The background of {@code rootView}, which draws the desired backgrounds of the pages. The
+	 * backgrounds are cached so that they do not need to be looked up on every frame of a scroll.
+	 */
+	private final PageBackgroundDrawable background = new PageBackgroundDrawable();
+
+	/**
+	 * Whether or not the backgrounds cached in {@code background} need to be rebuilt before they
+	 * are next used.
+	 */
+	private boolean backgroundsInvalid = true;
+
+	/**
+	 * Provides pre-inflated views to the pages, null until this activity is created.
+	 */
+	private PageViewPool pageViewPool = null;
+
+	/**
+	 * The performance measurements of this activity.
+	 */
+	private final IntroMetrics metrics = new IntroMetrics();
+
+	/**
+	 * Receives the performance measurements of this activity, null if scrolling is not measured.
+	 */
+	private IntroMetrics.Listener metricsListener = null;
+
+	/**
+	 * The time at which {@link #onCreate(Bundle)} was called, measured in nanoseconds.
+	 */
+	private long onCreateTimeNanos;
+
+	/**
+	 * Times frames while scrolling, null until first needed. Only used on API 16 and up.
+	 */
+	private FrameTimer frameTimer = null;
+
+	/**
+	 * Measures the time spent transforming pages, and delegates the transformation to {@code
+	 * transformer}.
+	 */
+	private final ViewPager.PageTransformer measuredTransformer = new ViewPager.PageTransformer() {
+		@Override
+		public void transformPage(final View page, final float position) {
+			if (transformer == null) {
+				return;
+			}
+
+			if (metricsListener == null) {
+				transformer.transformPage(page, position);
+			} else {
+				final long startNanos = System.nanoTime();
+				transformer.transformPage(page, position);
+				metrics.getTransformPageDurations().record(System.nanoTime() - startNanos);
+			}
+		}
+	};
+
+	/**
+	 * Whether or not this activity has been drawn for the first time.
+	 */
+	private boolean firstDrawOccurred = false;
+
+	/**
+	 * Waits for this activity to be first drawn, then records the startup time. The draw follows
+	 * the pre-draw pass in the same traversal, so the measurement is posted to run once the
+	 * traversal has completed.
+	 */
+	private final OnPreDrawListener firstDrawListener = new OnPreDrawListener() {
+		@Override
+		public boolean onPreDraw() {
+			rootView.getViewTreeObserver().removeOnPreDrawListener(this);
+			rootView.post(onFirstDrawComplete);
+			return true;
+		}
+	};
+
+	/**
+	 * Records the startup time, notifies the metrics listener and schedules the work deferred
+	 * during startup, once this activity has been drawn for the first time.
+	 */
+	private final Runnable onFirstDrawComplete = new Runnable() {
+		@Override
+		public void run() {
+			firstDrawOccurred = true;
+			metrics.setStartupNanos(System.nanoTime() - onCreateTimeNanos);
+
+			if (metricsListener != null) {
+				metricsListener.onStartupMeasured(metrics);
+			}
+
+			Looper.myQueue().addIdleHandler(deferredStartupWork);
+		}
+	};
+
+	/**
+	 * Performs the startup work which is not needed to draw the first frame, once the main thread
+	 * is idle after the first draw.
+	 */
+	private final MessageQueue.IdleHandler deferredStartupWork = new MessageQueue.IdleHandler() {
+		@Override
+		public boolean queueIdle() {
+			if (viewPager.getOffscreenPageLimit() != offscreenPageLimit) {
+				viewPager.setOffscreenPageLimit(offscreenPageLimit);
+			}
+
+			if (backgroundsInvalid) {
+				rebuildBackgrounds();
+			}
+
+			pageViewPool.setBackgroundInflationEnabled(true);
+
+			return false; // Only run once
+		}
+	};
+
 	/**
 	 * {@inheritDoc}When overriding this method, the superclass implementation should be the first
 	 * method call to ensure the theme applies correctly.
+	 * <p/>
+	 * To minimise the time before the first frame is drawn, only the work needed to display the
+	 * current page is done here. Until the first frame is drawn, only the current page and its
+	 * neighbours are created regardless of the offscreen page limit, and only their backgrounds are
+	 * prepared. The page indicator displays the full number of pages immediately. The remaining
+	 * work is done once the main thread is idle after the first frame. Pages added to {@code
+	 * pages} are all constructed by {@link #generatePages()} before the first frame, so populate
+	 * {@code pageFactories} instead to construct only the pages which are displayed.
 	 *
 	 * @param savedInstanceState
 	 */
 	@Override
 	protected void onCreate(Bundle savedInstanceState) {
+		onCreateTimeNanos = System.nanoTime();
 		setTheme(R.style.NoActionBar);
 		super.onCreate(savedInstanceState);
 		setContentView(R.layout.activity_intro);
@@ -116,29 +287,84 @@ public abstract class IntroActivity extends AppCompatActivity
 		skipButton = (Button) findViewById(R.id.intro_activity_skipButton);
 		doneButton = (Button) findViewById(R.id.intro_activity_doneButton);
 
+		// Views for the first pages are inflated directly, since the first frame must wait for them
+		pageViewPool = new PageViewPool(this, 2);
+		pageViewPool.setBackgroundInflationEnabled(false);
+
+		// Notify the adapter once all pages have been generated, rather than once per page
+		adapter.beginBatchUpdate();
+		final long generatePagesStartNanos = System.nanoTime();
 		generatePages();
+		metrics.setGeneratePagesNanos(System.nanoTime() - generatePagesStartNanos);
+		adapter.endBatchUpdate();
+
+		if (!pages.isEmpty() && !pageFactories.isEmpty()) {
+			throw new IllegalStateException("generatePages() must populate either pages or " +
+					"pageFactories, not both");
+		}
 
-		pageIndicator.setNumberOfItems(pages.size());
+		// The configured offscreen page limit is applied after the first frame
+		getPageIndicator().setNumberOfItems(adapter.getCount());
 		viewPager.setAdapter(adapter);
 		viewPager.addOnPageChangeListener(this);
-		pages.addOnItemAddedListener(this);
-		pages.addOnItemRemovedListener(this);
-		pages.addOnListClearedListener(this);
+		// Registered through the adapter so that the indicator is updated before the ViewPager
+		adapter.setListChangeListener(this);
 
 		int index = (savedInstanceState != null) ?
 				savedInstanceState.getInt(STATE_KEY_CURRENT_PAGE_INDEX) : 0;
 
+		// Before the first layout this only records the index, so no other pages are created
 		viewPager.setCurrentItem(index);
-		pageIndicator.setActiveItem(index, false);
-		rootView.setBackgroundColor(pages.get(index).getDesiredBackgroundColor());
+		getPageIndicator().setActiveItem(index, false);
+		setRootViewBackground(background);
+		cacheBackgrounds(index - 1, index + 1);
+		background.setPosition(index, 0f);
 
 		nextButton.setOnClickListener(this);
 		skipButton.setOnClickListener(this);
 		doneButton.setOnClickListener(this);
+
+		final float refreshRate = getWindowManager().getDefaultDisplay().getRefreshRate();
+
+		if (refreshRate > 0) {
+			metrics.setFrameIntervalNanos((long) (1000000000 / refreshRate));
+		}
+
+		rootView.getViewTreeObserver().addOnPreDrawListener(firstDrawListener);
+	}
+
+	@Override
+	protected void onDestroy() {
+		super.onDestroy();
+		stopFrameTimer();
+		rootView.removeCallbacks(onFirstDrawComplete);
+		Looper.myQueue().removeIdleHandler(deferredStartupWork);
+		pageViewPool.clear();
+
+		if (isFinishing()) {
+			trimImageMemory();
+		}
+	}
+
+	@Override
+	public void onTrimMemory(final int level) {
+		super.onTrimMemory(level);
+		trimImageMemory();
+	}
+
+	@Override
+	public void onLowMemory() {
+		super.onLowMemory();
+		trimImageMemory();
 	}
 
 	/**
-	 * Populates the collection of pages to display in this activity.
+	 * Populates the collection of pages to display in this activity. Either {@code pages} or
+	 * {@code pageFactories} can be populated, but not both. Populating {@code pageFactories} is
+	 * recommended, since each page is then created when it is first displayed and only the first
+	 * page shown and its neighbours are created before the first frame. Every page added to {@code
+	 * pages} is constructed here, before the first frame, although only the displayed pages create
+	 * their views.
 	 */
 	protected abstract void generatePages();
 
@@ -155,7 +381,7 @@ public abstract class IntroActivity extends AppCompatActivity
 	 * hidden.
 	 */
 	protected void updateButtonAppearance() {
-		boolean reachedLastPage = (viewPager.getCurrentItem() + 1 == pages.size());
+		boolean reachedLastPage = (viewPager.getCurrentItem() + 1 == adapter.getCount());
 
 		if (reachedLastPage) {
 			skipButton.setVisibility(View.INVISIBLE);
@@ -175,62 +401,541 @@ public abstract class IntroActivity extends AppCompatActivity
 	}
 
 	/**
-	 * {@inheritDoc}This method updates the background color of this activity by blending the
-	 * desired background colors of the current and next pages.
+	 * {@inheritDoc}This method updates the background of this activity by blending the desired
+	 * background colors of the current and next pages and cross-fading their desired background
+	 * drawables, and keeps the page indicator synchronised with the scroll. The desired
+	 * backgrounds are cached, so call {@link #notifyDesiredBackgroundsChanged()} if the background
+	 * of an existing page changes.
 	 */
 	@Override
 	public void onPageScrolled(final int position, final float positionOffset,
 			final int positionOffsetPixels) {
-		int color1 = pages.get(position).getDesiredBackgroundColor();
+		final long startNanos = (metricsListener == null) ? 0 : System.nanoTime();
 
-		// Cannot use next page if the current page is the last page
-		boolean isFinalPage = (position == (pages.size() - 1));
-		int color2 = isFinalPage ? pages.get(position).getDesiredBackgroundColor() :
-				pages.get(position + 1).getDesiredBackgroundColor();
+		if (backgroundsInvalid) {
+			rebuildBackgrounds();
+		}
 
-		// Update background with a blend of color1 and color2
-		rootView.setBackgroundColor(ColorHelper.blendColors(color1, color2, 1f - positionOffset));
+		// The background only invalidates itself if its appearance actually changes
+		background.setPosition(position, positionOffset);
+
+		getPageIndicator().setScrollPosition(position, positionOffset);
+
+		if (metricsListener != null) {
+			metrics.getPageScrolledDurations().record(System.nanoTime() - startNanos);
+		}
 	}
 
 	/**
-	 * {@inheritDoc}Updates {@code pageIndicator} and updates the buttons if necessary.
+	 * Updates the background of this activity to reflect changes to the desired background colors
+	 * and drawables of the pages. The backgrounds are cached to avoid looking them up during
+	 * scrolling, so this method must be called if the desired background of a page is changed
+	 * after it has been added. Adding and removing pages updates the cache automatically.
+	 */
+	public void notifyDesiredBackgroundsChanged() {
+		rebuildBackgrounds();
+		background.setPosition(viewPager.getCurrentItem(), 0f);
+	}
+
+	/**
+	 * Rebuilds the cache of desired backgrounds from the current pages. Each desired background
+	 * drawable is copied once here, so that no drawables are created while scrolling.
+	 */
+	private void rebuildBackgrounds() {
+		cacheBackgrounds(0, adapter.getCount() - 1);
+		backgroundsInvalid = false;
+	}
+
+	/**
+	 * Caches the desired backgrounds of a range of pages. Other pages are left unchanged, so the
+	 * cache remains invalid unless the range covers every page.
+	 *
+	 * @param first
+	 * 		the index of the first page to cache, clamped to the valid range
+	 * @param last
+	 * 		the index of the last page to cache, clamped to the valid range
+	 */
+	private void cacheBackgrounds(final int first, final int last) {
+		final int count = adapter.getCount();
+		background.setSize(count);
+
+		for (int i = Math.max(first, 0); i <= Math.min(last, count - 1); i++) {
+			final Drawable drawable = adapter.getDesiredBackgroundDrawable(i);
+			background.setPage(i, adapter.getDesiredBackgroundColor(i), drawable, getResources());
+		}
+	}
+
+	/**
+	 * Sets the background of {@code rootView}, using the method appropriate to the API level.
+	 *
+	 * @param background
+	 * 		the background to use
+	 */
+	@SuppressWarnings("deprecation")
+	private void setRootViewBackground(final Drawable background) {
+		if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+			rootView.setBackground(background);
+		} else {
+			rootView.setBackgroundDrawable(background);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}Updates the buttons if necessary. The page indicator is updated by {@link
+	 * #onPageScrolled(int, float, int)} instead, so that it follows the scroll.
 	 */
 	@Override
 	public void onPageSelected(int position) {
-		pageIndicator.setActiveItem(position, true);
 		updateButtonAppearance();
 	}
 
+	/**
+	 * {@inheritDoc}Gives the pages hardware layers while they are being dragged or settled, and
+	 * removes the layers once scrolling stops. This behaviour can be disabled by calling {@link
+	 * #setUseHardwareLayersWhenScrolling(boolean)}. If a metrics listener is registered, frames are
+	 * timed while scrolling and the listener is notified when scrolling stops.
+	 */
 	@Override
 	public void onPageScrollStateChanged(int state) {
-		// Forced to implement this method with onPageSelected
+		final boolean wasScrolling = scrolling;
+		scrolling = (state != ViewPager.SCROLL_STATE_IDLE);
+
+		if (useHardwareLayersWhenScrolling && scrolling != wasScrolling) {
+			applyScrollingLayerType(scrolling ? View.LAYER_TYPE_HARDWARE : View.LAYER_TYPE_NONE);
+		}
+
+		if (scrolling != wasScrolling) {
+			if (scrolling) {
+				startFrameTimer();
+			} else {
+				stopFrameTimer();
+
+				if (metricsListener != null) {
+					metricsListener.onScrollMeasured(metrics);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets the page transformer of {@code viewPager}. Use this method rather than calling {@code
+	 * setPageTransformer} on {@code viewPager} directly, so that the time spent transforming pages
+	 * can be measured.
+	 *
+	 * @param reverseDrawingOrder
+	 * 		true if the supplied transformer requires pages to be drawn from last to first
+	 * 		instead of first to last
+	 * @param transformer
+	 * 		the transformer to apply to the pages, null to remove the current transformer
+	 */
+	public void setPageTransformer(final boolean reverseDrawingOrder,
+			final ViewPager.PageTransformer transformer) {
+		this.transformer = transformer;
+		viewPager.setPageTransformer(reverseDrawingOrder,
+				(transformer == null) ? null : measuredTransformer);
+	}
+
+	/**
+	 * Registers a listener to receive the performance measurements of this activity. While a
+	 * listener is registered, frame durations and the time spent in {@link
+	 * #onPageScrolled(int, float, int)} and the page transformer are measured during each scroll.
+	 * Startup is always measured, so the listener receives the startup measurements as long as it
+	 * is registered before the activity is first drawn, for example in {@link
+	 * #onCreate(Bundle)}.
+	 *
+	 * @param metricsListener
+	 * 		the listener to register, null to stop measuring scrolls
+	 */
+	public void setMetricsListener(final IntroMetrics.Listener metricsListener) {
+		this.metricsListener = metricsListener;
+
+		if (metricsListener == null) {
+			stopFrameTimer();
+		} else if (scrolling) {
+			startFrameTimer();
+		}
+	}
+
+	/**
+	 * Returns the pool which provides pre-inflated views to the pages of this activity. Pages
+	 * should obtain their views using {@link Page#obtainView(LayoutInflater, int, ViewGroup)},
+	 * which uses this pool. Views are pre-inflated in the background once the first frame has been
+	 * drawn.
+	 *
+	 * @return the pool, null if this activity has not been created
+	 */
+	public PageViewPool getPageViewPool() {
+		return pageViewPool;
+	}
+
+	/**
+	 * @return the performance measurements of this activity, not null
+	 */
+	public IntroMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * Evicts the page images which are no longer displayed from the shared {@link BitmapCache} and
+	 * empties the shared {@link BitmapPool}, so that neither retains images after this activity
+	 * finishes or while memory is low.
+	 */
+	private void trimImageMemory() {
+		BitmapCache.getDefault().trimToActive();
+
+		// Trimming the cache adds the evicted images to the pool, so the pool is cleared afterwards
+		BitmapPool.getDefault().clear();
+	}
+
+	/**
+	 * Starts timing frames if a metrics listener is registered and the API level supports it.
+	 */
+	private void startFrameTimer() {
+		if (metricsListener != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
+			if (frameTimer == null) {
+				frameTimer = new FrameTimer(metrics.getFrameDurations());
+			}
+
+			frameTimer.start();
+		}
+	}
+
+	/**
+	 * Stops timing frames, if frames are being timed.
+	 */
+	private void stopFrameTimer() {
+		if (frameTimer != null) {
+			frameTimer.stop();
+		}
+	}
+
+	/**
+	 * Sets whether or not the views of each page should be given hardware layers while scrolling.
+	 * Hardware layers allow moving views to be composited instead of redrawn on every frame, but
+	 * use additional memory while scrolling. This is enabled by default.
+	 *
+	 * @param useHardwareLayersWhenScrolling
+	 * 		true to use hardware layers while scrolling, false otherwise
+	 */
+	public void setUseHardwareLayersWhenScrolling(final boolean useHardwareLayersWhenScrolling) {
+		this.useHardwareLayersWhenScrolling = useHardwareLayersWhenScrolling;
+
+		if (!useHardwareLayersWhenScrolling && scrolling) {
+			applyScrollingLayerType(View.LAYER_TYPE_NONE);
+		}
+	}
+
+	/**
+	 * @return whether or not the views of each page are given hardware layers while scrolling
+	 */
+	public boolean getUseHardwareLayersWhenScrolling() {
+		return useHardwareLayersWhenScrolling;
+	}
+
+	/**
+	 * Sets whether the page indicator should be a {@link CanvasSelectionIndicator}, which draws
+	 * every dot itself, instead of {@code pageIndicator}, which hosts a view for each dot. The
+	 * canvas indicator is cheaper to measure, lay out and draw, which is significant when there are
+	 * many pages. The new indicator takes the place of the displayed indicator, and receives its dot
+	 * diameters, colors, spacing and transition duration. {@code pageIndicator} is used by default.
+	 * This method must not be called before {@link #onCreate(Bundle)}.
+	 *
+	 * @param useCanvasPageIndicator
+	 * 		true to use a {@code CanvasSelectionIndicator}, false to use {@code pageIndicator}
+	 * @throws IllegalStateException
+	 * 		if this activity has not been created
+	 */
+	public void setUseCanvasPageIndicator(final boolean useCanvasPageIndicator) {
+		if (pageIndicator == null) {
+			throw new IllegalStateException("The page indicator cannot be replaced before " +
+					"onCreate(Bundle) is called");
+		}
+
+		if (useCanvasPageIndicator == getUseCanvasPageIndicator()) {
+			return; // Nothing to change
+		}
+
+		final View oldIndicator;
+		final View newIndicator;
+
+		if (useCanvasPageIndicator) {
+			canvasPageIndicator = new CanvasSelectionIndicator(this);
+			copyAppearance(pageIndicator, canvasPageIndicator);
+			oldIndicator = pageIndicator;
+			newIndicator = canvasPageIndicator;
+		} else {
+			copyAppearance(canvasPageIndicator, pageIndicator);
+			oldIndicator = canvasPageIndicator;
+			newIndicator = pageIndicator;
+			canvasPageIndicator = null;
+		}
+
+		// The new indicator takes the place of the old one, so the layout rules still apply
+		final int index = rootView.indexOfChild(oldIndicator);
+		newIndicator.setId(oldIndicator.getId());
+		newIndicator.setLayoutParams(oldIndicator.getLayoutParams());
+		rootView.removeViewAt(index);
+		rootView.addView(newIndicator, index);
+
+		final int count = adapter.getCount();
+		getPageIndicator().setNumberOfItems(count);
+
+		if (count > 0) {
+			getPageIndicator().setActiveItem(Math.min(viewPager.getCurrentItem(), count - 1),
+					false);
+		}
+	}
+
+	/**
+	 * @return whether or not the page indicator is a {@link CanvasSelectionIndicator}
+	 */
+	public boolean getUseCanvasPageIndicator() {
+		return canvasPageIndicator != null;
+	}
+
+	/**
+	 * Returns the page indicator which is displayed. This is {@code pageIndicator}, unless {@link
+	 * #setUseCanvasPageIndicator(boolean)} has been enabled in which case it is a {@link
+	 * CanvasSelectionIndicator}.
+	 *
+	 * @return the displayed page indicator, null if this activity has not been created
+	 */
+	public ItemIndicator getPageIndicator() {
+		return (canvasPageIndicator == null) ? pageIndicator : canvasPageIndicator;
+	}
+
+	/**
+	 * Copies the dot appearance of a {@link SelectionIndicator} to a {@link
+	 * CanvasSelectionIndicator}.
+	 *
+	 * @param source
+	 * 		the indicator to copy from
+	 * @param destination
+	 * 		the indicator to copy to
+	 */
+	private static void copyAppearance(final SelectionIndicator source,
+			final CanvasSelectionIndicator destination) {
+		destination.setInactiveDotDiameterPx(source.getInactiveDotDiameterPx());
+		destination.setActiveDotDiameterPx(source.getActiveDotDiameterPx());
+		destination.setInactiveDotColor(source.getInactiveDotColor());
+		destination.setActiveDotColor(source.getActiveDotColor());
+		destination.setSpacingBetweenDotsPx(source.getSpacingBetweenDotsPx());
+		destination.setTransitionDurationMs(source.getTransitionDurationMs());
+	}
+
+	/**
+	 * Copies the dot appearance of a {@link CanvasSelectionIndicator} to a {@link
+	 * SelectionIndicator}.
+	 *
+	 * @param source
+	 * 		the indicator to copy from
+	 * @param destination
+	 * 		the indicator to copy to
+	 */
+	private static void copyAppearance(final CanvasSelectionIndicator source,
+			final SelectionIndicator destination) {
+		destination.setInactiveDotDiameterPx(source.getInactiveDotDiameterPx());
+		destination.setActiveDotDiameterPx(source.getActiveDotDiameterPx());
+		destination.setInactiveDotColor(source.getInactiveDotColor());
+		destination.setActiveDotColor(source.getActiveDotColor());
+		destination.setSpacingBetweenDotsPx(source.getSpacingBetweenDotsPx());
+		destination.setTransitionDurationMs(source.getTransitionDurationMs());
+	}
+
+	/**
+	 * Opens a page update. Until the update is closed by a matching call to {@link
+	 * #endPageUpdate()}, changes to {@code pages} and {@code pageFactories} are not reflected in
+	 * the UI. When the update is closed, the adapter, page indicator and buttons are refreshed
+	 * once. Use page updates when making multiple changes at once, since otherwise the UI is
+	 * refreshed after every change. Page updates can be nested.
+	 */
+	public void beginPageUpdate() {
+		adapter.beginBatchUpdate();
+	}
+
+	/**
+	 * Closes a page update opened by {@link #beginPageUpdate()}. If this closes the outermost
+	 * update, the UI is refreshed to reflect all changes made during the update.
+	 *
+	 * @throws IllegalStateException
+	 * 		if there is no open page update
+	 */
+	public void endPageUpdate() {
+		// The indicator must match the pages before the adapter notifies the ViewPager, since the
+		// ViewPager reports its new scroll position immediately
+		if (adapter.getBatchUpdateDepth() == 1 && pagesChangedDuringUpdate) {
+			pagesChangedDuringUpdate = false;
+
+			final int count = adapter.getCount();
+			getPageIndicator().setNumberOfItems(count);
+
+			if (count > 0) {
+				getPageIndicator().setActiveItem(Math.min(viewPager.getCurrentItem(), count - 1),
+						false);
+			}
+
+			updateButtonAppearance();
+		}
+
+		adapter.endBatchUpdate();
+	}
+
+	/**
+	 * Adds multiple pages to the end of {@code pages}, and refreshes the UI once.
+	 *
+	 * @param pagesToAdd
+	 * 		the pages to add, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code pagesToAdd} is null
+	 */
+	public void addPages(final Collection<? extends Page> pagesToAdd) {
+		if (pagesToAdd == null) {
+			throw new IllegalArgumentException("pagesToAdd cannot be null");
+		}
+
+		beginPageUpdate();
+
+		try {
+			for (final Page page : pagesToAdd) {
+				pages.add(page);
+			}
+		} finally {
+			endPageUpdate();
+		}
+	}
+
+	/**
+	 * Adds multiple page factories to the end of {@code pageFactories}, and refreshes the UI once.
+	 *
+	 * @param pageFactoriesToAdd
+	 * 		the page factories to add, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code pageFactoriesToAdd} is null
+	 */
+	public void addPageFactories(final Collection<? extends PageFactory> pageFactoriesToAdd) {
+		if (pageFactoriesToAdd == null) {
+			throw new IllegalArgumentException("pageFactoriesToAdd cannot be null");
+		}
+
+		beginPageUpdate();
+
+		try {
+			for (final PageFactory pageFactory : pageFactoriesToAdd) {
+				pageFactories.add(pageFactory);
+			}
+		} finally {
+			endPageUpdate();
+		}
+	}
+
+	/**
+	 * Sets whether or not pages which move outside the offscreen page limit should be destroyed
+	 * and later restored from their saved state, rather than kept in memory. Destroying offscreen
+	 * pages bounds memory use by the offscreen page limit instead of by the number of pages, at the
+	 * cost of recreating each page when it is revisited. Pages are kept in memory by default.
+	 *
+	 * @param destroyOffscreenPages
+	 * 		true to destroy offscreen pages, false to keep them in memory
+	 */
+	public void setDestroyOffscreenPages(final boolean destroyOffscreenPages) {
+		adapter.setDestroyOffscreenPages(destroyOffscreenPages);
 	}
 
 	/**
-	 * {@inheritDoc}Updates {@code pageIndicator} and updates the buttons if necessary.
+	 * @return whether or not pages which move outside the offscreen page limit are destroyed
+	 */
+	public boolean getDestroyOffscreenPages() {
+		return adapter.getDestroyOffscreenPages();
+	}
+
+	/**
+	 * Sets the number of pages to retain on either side of the current page. Pages beyond this
+	 * limit are detached, or destroyed if {@link #setDestroyOffscreenPages(boolean)} has been
+	 * enabled. The default limit is 1. Limits greater than 1 take effect after the first frame is
+	 * drawn, so that startup is not slowed by creating pages which are not visible.
+	 *
+	 * @param offscreenPageLimit
+	 * 		the number of pages to retain on either side of the current page, at least 1
+	 * @throws IllegalArgumentException
+	 * 		if {@code offscreenPageLimit} is less than 1
+	 */
+	public void setOffscreenPageLimit(final int offscreenPageLimit) {
+		if (offscreenPageLimit < 1) {
+			throw new IllegalArgumentException("offscreenPageLimit must be at least 1");
+		}
+
+		this.offscreenPageLimit = offscreenPageLimit;
+
+		// Before the first frame the limit is applied by deferredStartupWork
+		if (firstDrawOccurred) {
+			viewPager.setOffscreenPageLimit(offscreenPageLimit);
+		}
+	}
+
+	/**
+	 * @return the number of pages retained on either side of the current page
+	 */
+	public int getOffscreenPageLimit() {
+		return offscreenPageLimit;
+	}
+
+	/**
+	 * Applies a layer type to the scrolling views of each instantiated page.
+	 *
+	 * @param layerType
+	 * 		the layer type to apply
+	 */
+	private void applyScrollingLayerType(final int layerType) {
+		// The adapter also applies the layer type to pages instantiated during the scroll
+		adapter.setScrollingLayerType(layerType);
+	}
+
+	/**
+	 * {@inheritDoc}Inserts a single dot into the page indicator and updates the buttons if
+	 * necessary. If a page update is open, the UI is instead refreshed when it closes.
 	 */
 	@Override
 	public void onItemAdded(ArrayListWithCallbacks list, Object itemAdded, int index) {
-		pageIndicator.setNumberOfItems(list.size());
-		updateButtonAppearance();
+		backgroundsInvalid = true;
+
+		if (adapter.isBatchUpdateOpen()) {
+			pagesChangedDuringUpdate = true;
+		} else {
+			getPageIndicator().insertItem(index);
+			updateButtonAppearance();
+		}
 	}
 
 	/**
-	 * {@inheritDoc}Updates {@code pageIndicator} and updates the buttons if necessary.
+	 * {@inheritDoc}Removes a single dot from the page indicator and updates the buttons if
+	 * necessary. If a page update is open, the UI is instead refreshed when it closes.
 	 */
 	@Override
 	public void onItemRemoved(ArrayListWithCallbacks list, Object itemRemoved, int index) {
-		pageIndicator.setNumberOfItems(list.size());
-		updateButtonAppearance();
+		backgroundsInvalid = true;
+
+		if (adapter.isBatchUpdateOpen()) {
+			pagesChangedDuringUpdate = true;
+		} else {
+			getPageIndicator().removeItem(index);
+			updateButtonAppearance();
+		}
 	}
 
 	/**
-	 * {@inheritDoc}Updates {@code pageIndicator} and updates the buttons if necessary.
+	 * {@inheritDoc}Updates the page indicator and updates the buttons if necessary. If a page
+	 * update is open, the UI is instead refreshed when it closes.
 	 */
 	@Override
 	public void onListCleared(ArrayListWithCallbacks list) {
-		pageIndicator.setNumberOfItems(0);
-		updateButtonAppearance();
+		backgroundsInvalid = true;
+
+		if (adapter.isBatchUpdateOpen()) {
+			pagesChangedDuringUpdate = true;
+		} else {
+			getPageIndicator().setNumberOfItems(0);
+			updateButtonAppearance();
+		}
 	}
 
 	@Override
@@ -238,11 +943,11 @@ public abstract class IntroActivity extends AppCompatActivity
 		if (v == nextButton) {
 			int nextPageIndex = viewPager.getCurrentItem() + 1;
 
-			if (nextPageIndex < pages.size()) {
+			if (nextPageIndex < adapter.getCount()) {
 				viewPager.setCurrentItem(nextPageIndex);
 			}
 		} else if (v == skipButton) {
-			int lastPageIndex = pages.size() - 1;
+			int lastPageIndex = adapter.getCount() - 1;
 
 			if (viewPager.getCurrentItem() != lastPageIndex) {
 				viewPager.setCurrentItem(lastPageIndex);
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+/**
+ * Performance measurements of an {@link IntroActivity}. Startup durations are measured once per
+ * activity instance. Scroll durations are accumulated over every scroll of the activity, and are
+ * only measured while a {@link Listener} is registered with the activity. All durations are
+ * measured in nanoseconds.
+ */
+public final class IntroMetrics {
+	/**
+	 * The number of frame intervals a frame can take before it is considered janky.
+	 */
+	private static final float JANK_THRESHOLD_FRAME_INTERVALS = 1.5f;
+
+	/**
+	 * The time between the start of {@code onCreate(Bundle)} and the end of the first draw, -1 if
+	 * not yet measured.
+	 */
+	private long startupNanos = -1;
+
+	/**
+	 * The time spent in {@code generatePages()}, -1 if not yet measured.
+	 */
+	private long generatePagesNanos = -1;
+
+	/**
+	 * The expected time between frames on the current display.
+	 */
+	private long frameIntervalNanos = 16666667;
+
+	/**
+	 * The time between consecutive frames while scrolling.
+	 */
+	private final DurationHistogram frameDurations = new DurationHistogram();
+
+	/**
+	 * The time spent in each call to {@code onPageScrolled(int, float, int)}.
+	 */
+	private final DurationHistogram pageScrolledDurations = new DurationHistogram();
+
+	/**
+	 * The time spent in each call to {@code PageTransformer.transformPage(View, float)}.
+	 */
+	private final DurationHistogram transformPageDurations = new DurationHistogram();
+
+	/**
+	 * @return the time between the start of {@code onCreate(Bundle)} and the end of the first draw
+	 * of the activity, -1 if the activity has not yet been drawn
+	 */
+	public long getStartupNanos() {
+		return startupNanos;
+	}
+
+	/**
+	 * @return the time spent in {@link IntroActivity#generatePages()}, -1 if not yet measured
+	 */
+	public long getGeneratePagesNanos() {
+		return generatePagesNanos;
+	}
+
+	/**
+	 * @return the expected time between frames on the display the activity is shown on
+	 */
+	public long getFrameIntervalNanos() {
+		return frameIntervalNanos;
+	}
+
+	/**
+	 * Returns the time between consecutive frames while scrolling. Frame durations are only
+	 * measured on API 16 and up, since they are measured using {@link
+	 * android.view.Choreographer}.
+	 *
+	 * @return the frame durations, not null
+	 */
+	public DurationHistogram getFrameDurations() {
+		return frameDurations;
+	}
+
+	/**
+	 * Counts the frames which took long enough to be noticeable while scrolling. A frame is
+	 * janky if it took more than one and a half frame intervals.
+	 *
+	 * @return the number of janky frames
+	 */
+	public long getJankyFrameCount() {
+		return frameDurations.getCountAbove(
+				(long) (frameIntervalNanos * JANK_THRESHOLD_FRAME_INTERVALS));
+	}
+
+	/**
+	 * @return the time spent in each call to {@link IntroActivity#onPageScrolled(int, float,
+	 * int)}, not null
+	 */
+	public DurationHistogram getPageScrolledDurations() {
+		return pageScrolledDurations;
+	}
+
+	/**
+	 * Returns the time spent in each call to the {@code transformPage(View, float)} method of the
+	 * page transformer. Only transformers supplied to {@code setPageTransformer(boolean,
+	 * PageTransformer)} in {@link IntroActivity} are measured.
+	 *
+	 * @return the transform durations, not null
+	 */
+	public DurationHistogram getTransformPageDurations() {
+		return transformPageDurations;
+	}
+
+	/**
+	 * Removes all scroll measurements. Startup measurements are unaffected.
+	 */
+	public void resetScrollMetrics() {
+		frameDurations.reset();
+		pageScrolledDurations.reset();
+		transformPageDurations.reset();
+	}
+
+	/**
+	 * @param startupNanos
+	 * 		the time between the start of {@code onCreate(Bundle)} and the end of the first draw
+	 */
+	void setStartupNanos(final long startupNanos) {
+		this.startupNanos = startupNanos;
+	}
+
+	/**
+	 * @param generatePagesNanos
+	 * 		the time spent in {@code generatePages()}
+	 */
+	void setGeneratePagesNanos(final long generatePagesNanos) {
+		this.generatePagesNanos = generatePagesNanos;
+	}
+
+	/**
+	 * @param frameIntervalNanos
+	 * 		the expected time between frames on the current display
+	 */
+	void setFrameIntervalNanos(final long frameIntervalNanos) {
+		this.frameIntervalNanos = frameIntervalNanos;
+	}
+
+	/**
+	 * Receives the performance measurements of an {@link IntroActivity}. Callbacks are delivered on
+	 * the main thread, and the supplied metrics should not be retained beyond the callback.
+	 */
+	public interface Listener {
+		/**
+		 * Called once the activity has been drawn for the first time.
+		 *
+		 * @param metrics
+		 * 		the metrics of the activity, including the startup measurements
+		 */
+		void onStartupMeasured(IntroMetrics metrics);
+
+		/**
+		 * Called each time a scroll finishes.
+		 *
+		 * @param metrics
+		 * 		the metrics of the activity, including the measurements of all scrolls so far
+		 */
+		void onScrollMeasured(IntroMetrics metrics);
+	}
+}
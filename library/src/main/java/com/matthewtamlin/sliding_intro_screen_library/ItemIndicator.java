@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+/**
+ * A view which indicates the active item in a set. {@link SelectionIndicator} hosts a {@link Dot}
+ * for each item, while {@link CanvasSelectionIndicator} draws every dot itself, which is cheaper
+ * when many items are represented. Implementations must be subclasses of {@link
+ * android.view.View}.
+ */
+public interface ItemIndicator {
+	/**
+	 * Sets the number of items in the set this indicator represents.
+	 *
+	 * @param numberOfItems
+	 * 		the number of items to represent with this indicator
+	 */
+	void setNumberOfItems(int numberOfItems);
+
+	/**
+	 * @return the number of items in the set this indicator represents
+	 */
+	int getNumberOfItems();
+
+	/**
+	 * Updates the UI to reflect the new active item.
+	 *
+	 * @param activeItemIndex
+	 * 		the index of the active item, starting at 0
+	 * @param animate
+	 * 		whether the update should be animated
+	 */
+	void setActiveItem(int activeItemIndex, boolean animate);
+
+	/**
+	 * Updates the UI to reflect a scroll between two consecutive items, without animating. The
+	 * parameters of this method correspond to those of {@code onPageScrolled(int, float, int)} in
+	 * {@link android.support.v4.view.ViewPager.OnPageChangeListener}. The active item is updated to
+	 * whichever item is closest to being fully displayed.
+	 *
+	 * @param position
+	 * 		the index of the first item currently displayed
+	 * @param positionOffset
+	 * 		how far the scroll has progressed from {@code position} towards {@code position + 1},
+	 * 		between 0 and 1
+	 */
+	void setScrollPosition(int position, float positionOffset);
+
+	/**
+	 * @return the index of the item which is currently active
+	 */
+	int getActiveItemIndex();
+
+	/**
+	 * Inserts a single item into the set this indicator represents. The active item is unchanged,
+	 * unless the set was previously empty in which case the new item becomes active.
+	 *
+	 * @param index
+	 * 		the index to insert the item at, between 0 and the current number of items inclusive
+	 */
+	void insertItem(int index);
+
+	/**
+	 * Removes a single item from the set this indicator represents. If the active item is removed,
+	 * the item which takes its place becomes active.
+	 *
+	 * @param index
+	 * 		the index of the item to remove, starting at 0
+	 */
+	void removeItem(int index);
+}
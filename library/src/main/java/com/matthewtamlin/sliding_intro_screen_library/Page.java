@@ -17,13 +17,21 @@
 package com.matthewtamlin.sliding_intro_screen_library;
 
 import android.graphics.Color;
+import android.graphics.drawable.Drawable;
 import android.support.v4.app.Fragment;
+import android.support.v4.app.FragmentActivity;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
 
 /**
  * A single page to display in a {@code ViewPager}. Each page stores a color it would prefer to
  * have drawn behind it when displayed, which allows the background of the hosting {@code Context}
- * to be transitioned as the pages are scrolled. Subclass this class to define the appearance and
- * behaviour of your pages.
+ * to be transitioned as the pages are scrolled. A page can also store a drawable to draw over the
+ * color, such as a gradient or an image. When hosted in an {@link IntroActivity}, the drawables of
+ * adjacent pages are cross-faded on a single background layer, so pages do not need their own
+ * full-screen backgrounds. Subclass this class to define the appearance and behaviour of your
+ * pages.
  */
 public abstract class Page extends Fragment {
 	/**
@@ -32,6 +40,12 @@ public abstract class Page extends Fragment {
 	 */
 	protected int desiredBackgroundColour = Color.TRANSPARENT;
 
+	/**
+	 * The drawable this page would prefer to have drawn behind it when displayed, over the desired
+	 * background color. Null if only the color should be drawn.
+	 */
+	protected Drawable desiredBackgroundDrawable = null;
+
 	/**
 	 * Sets the color this {@code Page} would prefer to have drawn behind it when displayed. This
 	 * method does not actually change the background color, but just stores the data for  later
@@ -55,4 +69,86 @@ public abstract class Page extends Fragment {
 	public int getDesiredBackgroundColor() {
 		return desiredBackgroundColour;
 	}
+
+	/**
+	 * Sets the drawable this {@code Page} would prefer to have drawn behind it when displayed, over
+	 * the desired background color. Use a {@link android.graphics.drawable.GradientDrawable} for a
+	 * gradient background, or a {@link android.graphics.drawable.BitmapDrawable} for an image
+	 * background. Like {@link #setDesiredBackgroundColor(int)}, this method just stores the data
+	 * for later use. The drawable itself is not modified.
+	 *
+	 * @param drawable
+	 * 		the desired background drawable, null to only use the desired background color
+	 */
+	public void setDesiredBackgroundDrawable(Drawable drawable) {
+		this.desiredBackgroundDrawable = drawable;
+	}
+
+	/**
+	 * @return the drawable this {@code Page} would prefer to have drawn behind it when displayed,
+	 * null if none has been supplied to {@link #setDesiredBackgroundDrawable(Drawable)}
+	 */
+	public Drawable getDesiredBackgroundDrawable() {
+		return desiredBackgroundDrawable;
+	}
+
+	/**
+	 * Applies a layer type to the views of this {@code Page} which move while it is scrolling. When
+	 * hosted in an {@link IntroActivity}, this method is called with {@link
+	 * View#LAYER_TYPE_HARDWARE} when scrolling starts and with {@link View#LAYER_TYPE_NONE} when
+	 * scrolling stops, so that the views are composited rather than redrawn on every frame. The
+	 * default implementation applies the layer type to the root view of this {@code Page}.
+	 * Subclasses which move their child views independently should override this method and apply
+	 * the layer type to those views instead.
+	 *
+	 * @param layerType
+	 * 		the layer type to apply, one of {@link View#LAYER_TYPE_NONE}, {@link
+	 * 		View#LAYER_TYPE_SOFTWARE} or {@link View#LAYER_TYPE_HARDWARE}
+	 */
+	public void setScrollingLayerType(final int layerType) {
+		setLayerTypeIfChanged(getView(), layerType);
+	}
+
+	/**
+	 * Returns a view of the specified layout, for use in {@link #onCreateView(LayoutInflater,
+	 * ViewGroup, android.os.Bundle)}. When hosted in an {@link IntroActivity}, the view is taken
+	 * from the {@link PageViewPool} of the activity if a pre-inflated view is available, so that
+	 * the layout does not need to be inflated while the pages are being scrolled. Otherwise the
+	 * layout is inflated using the supplied inflater.
+	 *
+	 * @param inflater
+	 * 		the inflater passed to {@code onCreateView}, not null
+	 * @param layoutResId
+	 * 		the resource ID of the layout
+	 * @param container
+	 * 		the container passed to {@code onCreateView}, may be null
+	 * @return the view, not attached to {@code container}
+	 */
+	protected View obtainView(final LayoutInflater inflater, final int layoutResId,
+			final ViewGroup container) {
+		final FragmentActivity activity = getActivity();
+		final PageViewPool pool = (activity instanceof IntroActivity) ?
+				((IntroActivity) activity).getPageViewPool() : null;
+
+		if (pool == null) {
+			return inflater.inflate(layoutResId, container, false);
+		} else {
+			return pool.obtain(inflater, layoutResId, container);
+		}
+	}
+
+	/**
+	 * Applies a layer type to a view, unless the view already has that layer type. Changing the
+	 * layer type of a view is expensive even if the new type matches the old type.
+	 *
+	 * @param view
+	 * 		the view to update, may be null
+	 * @param layerType
+	 * 		the layer type to apply
+	 */
+	protected static void setLayerTypeIfChanged(final View view, final int layerType) {
+		if (view != null && view.getLayerType() != layerType) {
+			view.setLayerType(layerType, null);
+		}
+	}
 }
@@ -16,9 +16,16 @@
 
 package com.matthewtamlin.sliding_intro_screen_library;
 
+import android.graphics.drawable.Drawable;
+import android.os.Bundle;
+import android.os.Parcelable;
 import android.support.v4.app.Fragment;
 import android.support.v4.app.FragmentManager;
 import android.support.v4.app.FragmentPagerAdapter;
+import android.support.v4.app.FragmentTransaction;
+import android.support.v4.util.LongSparseArray;
+import android.view.View;
+import android.view.ViewGroup;
 
 import com.matthewtamlin.android_utilities_library.collections.ArrayListWithCallbacks;
 import com.matthewtamlin.android_utilities_library.collections.ArrayListWithCallbacks
@@ -28,8 +35,29 @@ import com.matthewtamlin.android_utilities_library.collections.ArrayListWithCall
 import com.matthewtamlin.android_utilities_library.collections.ArrayListWithCallbacks
 		.OnListClearedListener;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+
 /**
  * Adapts a list of {@link Page} elements to a {@link android.support.v4.view.ViewPager ViewPager}.
+ * Alternatively, a list of {@link PageFactory} elements can be adapted instead, in which case each
+ * {@code Page} is created only when the {@code ViewPager} first requests it. Only one of the lists
+ * can contain elements at any time.
+ * <p/>
+ * By default, pages which move outside the offscreen page limit of the {@code ViewPager} are
+ * detached but kept in memory, as in {@link FragmentPagerAdapter}. Call {@link
+ * #setDestroyOffscreenPages(boolean)} to instead remove such pages and restore them from their
+ * saved state when they are next displayed, as in {@link
+ * android.support.v4.app.FragmentStatePagerAdapter FragmentStatePagerAdapter}. This bounds memory
+ * use by the offscreen page limit rather than by the number of pages.
+ * <p/>
+ * Each element is given a stable item ID when it is added, so that changes to the lists only
+ * affect the pages which were actually added or removed. Multiple changes can be combined into a
+ * single notification by making them between calls to {@link #beginBatchUpdate()} and {@link
+ * #endBatchUpdate()}.
  */
 public class PageAdapter extends FragmentPagerAdapter
 		implements OnItemAddedListener, OnItemRemovedListener, OnListClearedListener {
@@ -38,6 +66,109 @@ public class PageAdapter extends FragmentPagerAdapter
 	 */
 	ArrayListWithCallbacks<Page> pages;
 
+	/**
+	 * Creates the pages to show in the UI, as an alternative to {@code pages}.
+	 */
+	ArrayListWithCallbacks<PageFactory> pageFactories;
+
+	/**
+	 * The pages which are currently instantiated in the {@code ViewPager}.
+	 */
+	private final ArrayList<Page> instantiatedPages = new ArrayList<>();
+
+	/**
+	 * Key used to save and restore the IDs of the pages in {@code savedPageStates}.
+	 */
+	private static final String STATE_KEY_SAVED_PAGE_IDS = "savedPageIds";
+
+	/**
+	 * Key used to save and restore the states in {@code savedPageStates}.
+	 */
+	private static final String STATE_KEY_SAVED_PAGE_STATES = "savedPageStates";
+
+	/**
+	 * The {@code FragmentManager} for the {@code Context} this adapter is operating in.
+	 */
+	private final FragmentManager fragmentManager;
+
+	/**
+	 * Whether or not pages outside the offscreen page limit are removed instead of detached.
+	 */
+	private boolean destroyOffscreenPages = false;
+
+	/**
+	 * The saved states of the pages which have been removed, mapped by item ID.
+	 */
+	private final LongSparseArray<Fragment.SavedState> savedPageStates = new LongSparseArray<>();
+
+	/**
+	 * Removes offscreen pages, null if no pages have been removed since the last update.
+	 */
+	private FragmentTransaction removeTransaction = null;
+
+	/**
+	 * The layer type applied to the moving views of each instantiated page.
+	 */
+	private int scrollingLayerType = View.LAYER_TYPE_NONE;
+
+	/**
+	 * The item IDs of the elements of {@code pages} and {@code pageFactories}. Elements are
+	 * compared by identity since distinct elements may be equal.
+	 */
+	private final IdentityHashMap<Object, Long> itemIds = new IdentityHashMap<>();
+
+	/**
+	 * The item IDs of the pages which are currently instantiated in the {@code ViewPager}.
+	 */
+	private final IdentityHashMap<Object, Long> instantiatedItemIds = new IdentityHashMap<>();
+
+	/**
+	 * The current positions of the elements of {@code pages} or {@code pageFactories}, mapped by
+	 * item ID. Rebuilt when first needed after the lists change, so that each lookup made by the
+	 * {@code ViewPager} after a change takes constant time.
+	 */
+	private final HashMap<Long, Integer> itemPositions = new HashMap<>();
+
+	/**
+	 * Whether or not {@code itemPositions} needs to be rebuilt before it is next used.
+	 */
+	private boolean itemPositionsInvalid = true;
+
+	/**
+	 * The item ID to assign to the next element.
+	 */
+	private long nextItemId = 0;
+
+	/**
+	 * The number of calls to {@link #beginBatchUpdate()} which have not yet been matched by a call
+	 * to {@link #endBatchUpdate()}. Observers are not notified of changes while this value is
+	 * greater than 0.
+	 */
+	private int openBatchCount = 0;
+
+	/**
+	 * Whether or not the lists have changed during the current batch update.
+	 */
+	private boolean changedDuringBatch = false;
+
+	/**
+	 * Receives additions to the lists before the observers of this adapter are notified, null if
+	 * there is no such listener.
+	 */
+	private OnItemAddedListener itemAddedListener = null;
+
+	/**
+	 * Receives removals from the lists before the observers of this adapter are notified, null if
+	 * there is no such listener.
+	 */
+	private OnItemRemovedListener itemRemovedListener = null;
+
+	/**
+	 * Receives clearing of the lists before the observers of this adapter are notified, null if
+	 * there is no such listener.
+	 */
+	private OnListClearedListener listClearedListener = null;
+
 	/**
 	 * Constructs a new {@code PageAdapter}.
 	 *
@@ -47,17 +178,43 @@ public class PageAdapter extends FragmentPagerAdapter
 	 * 		the {@code Page} elements to adapt
 	 */
 	public PageAdapter(FragmentManager fm, ArrayListWithCallbacks<Page> pages) {
+		this(fm, pages, null);
+	}
+
+	/**
+	 * Constructs a new {@code PageAdapter} which can adapt either pages or page factories.
+	 *
+	 * @param fm
+	 * 		the {@code FragmentManager} for the {@code Context} this adapter is operating in
+	 * @param pages
+	 * 		the {@code Page} elements to adapt
+	 * @param pageFactories
+	 * 		the {@code PageFactory} elements to adapt, as an alternative to {@code pages}
+	 */
+	public PageAdapter(FragmentManager fm, ArrayListWithCallbacks<Page> pages,
+			ArrayListWithCallbacks<PageFactory> pageFactories) {
 		super(fm);
 
+		this.fragmentManager = fm;
+
 		if (pages == null) {
 			this.pages = new ArrayListWithCallbacks<>();
 		} else {
 			this.pages = pages;
 		}
 
+		if (pageFactories == null) {
+			this.pageFactories = new ArrayListWithCallbacks<>();
+		} else {
+			this.pageFactories = pageFactories;
+		}
+
 		this.pages.addOnItemAddedListener(this);
 		this.pages.addOnItemRemovedListener(this);
 		this.pages.addOnListClearedListener(this);
+		this.pageFactories.addOnItemAddedListener(this);
+		this.pageFactories.addOnItemRemovedListener(this);
+		this.pageFactories.addOnListClearedListener(this);
 	}
 
 	/**
@@ -67,28 +224,434 @@ public class PageAdapter extends FragmentPagerAdapter
 		return pages;
 	}
 
+	/**
+	 * @return the page factories of this adapter
+	 */
+	public ArrayListWithCallbacks<PageFactory> getPageFactories() {
+		return pageFactories;
+	}
+
+	/**
+	 * @return the pages which are currently instantiated in the {@code ViewPager}, in no
+	 * particular order
+	 */
+	public List<Page> getInstantiatedPages() {
+		return Collections.unmodifiableList(instantiatedPages);
+	}
+
+	/**
+	 * Sets whether or not pages outside the offscreen page limit should be removed instead of
+	 * detached. Removed pages are restored from their saved state when they are next displayed.
+	 * Pages are detached by default.
+	 *
+	 * @param destroyOffscreenPages
+	 * 		true to remove offscreen pages, false to detach them
+	 */
+	public void setDestroyOffscreenPages(boolean destroyOffscreenPages) {
+		this.destroyOffscreenPages = destroyOffscreenPages;
+	}
+
+	/**
+	 * @return whether or not pages outside the offscreen page limit are removed instead of
+	 * detached
+	 */
+	public boolean getDestroyOffscreenPages() {
+		return destroyOffscreenPages;
+	}
+
+	/**
+	 * Applies a layer type to the moving views of the instantiated pages, using {@link
+	 * Page#setScrollingLayerType(int)}. Pages instantiated later receive the same layer type once
+	 * their views have been created, until a different layer type is set. This ensures pages which
+	 * are instantiated during a scroll are composited like the others.
+	 *
+	 * @param layerType
+	 * 		the layer type to apply, one of {@link View#LAYER_TYPE_NONE}, {@link
+	 * 		View#LAYER_TYPE_SOFTWARE} or {@link View#LAYER_TYPE_HARDWARE}
+	 */
+	public void setScrollingLayerType(final int layerType) {
+		scrollingLayerType = layerType;
+		applyScrollingLayerType();
+	}
+
+	/**
+	 * @return the layer type applied to the moving views of the instantiated pages
+	 */
+	public int getScrollingLayerType() {
+		return scrollingLayerType;
+	}
+
+	/**
+	 * Opens a batch update. Until the batch is closed by a matching call to {@link
+	 * #endBatchUpdate()}, changes to the lists do not notify the observers of this adapter. Batch
+	 * updates can be nested.
+	 */
+	public void beginBatchUpdate() {
+		openBatchCount++;
+	}
+
+	/**
+	 * Closes a batch update opened by {@link #beginBatchUpdate()}. If this closes the outermost
+	 * batch and the lists changed during the batch, the observers of this adapter are notified
+	 * once.
+	 *
+	 * @throws IllegalStateException
+	 * 		if there is no open batch update
+	 */
+	public void endBatchUpdate() {
+		if (openBatchCount == 0) {
+			throw new IllegalStateException("endBatchUpdate() called without a matching " +
+					"beginBatchUpdate()");
+		}
+
+		openBatchCount--;
+
+		if (openBatchCount == 0 && changedDuringBatch) {
+			changedDuringBatch = false;
+			notifyDataSetChanged();
+		}
+	}
+
+	/**
+	 * @return whether or not a batch update is currently open
+	 */
+	public boolean isBatchUpdateOpen() {
+		return openBatchCount > 0;
+	}
+
+	/**
+	 * @return the number of batch updates which are currently open, including nested updates
+	 */
+	int getBatchUpdateDepth() {
+		return openBatchCount;
+	}
+
+	/**
+	 * Sets the listener to receive changes to the lists of this adapter. Unlike a listener
+	 * registered with the lists directly, this listener is always called before the observers of
+	 * this adapter are notified. UI which mirrors the lists, such as a page indicator, can
+	 * therefore be updated before the {@code ViewPager} repositions its pages and reports the new
+	 * scroll position.
+	 *
+	 * @param listener
+	 * 		the listener to receive changes, null to remove the current listener
+	 * @param <T>
+	 * 		the type of the listener
+	 */
+	public <T extends OnItemAddedListener & OnItemRemovedListener & OnListClearedListener> void
+	setListChangeListener(final T listener) {
+		itemAddedListener = listener;
+		itemRemovedListener = listener;
+		listClearedListener = listener;
+	}
+
+	/**
+	 * Returns the color the page at the supplied position would prefer to have drawn behind it.
+	 * The page is not created if it is supplied by a factory.
+	 *
+	 * @param position
+	 * 		the position of the page
+	 * @return the desired background color
+	 */
+	public int getDesiredBackgroundColor(int position) {
+		if (usesPageFactories()) {
+			return pageFactories.get(position).getDesiredBackgroundColor();
+		} else {
+			return pages.get(position).getDesiredBackgroundColor();
+		}
+	}
+
+	/**
+	 * Returns the drawable the page at the supplied position would prefer to have drawn behind it.
+	 * The page is not created if it is supplied by a factory.
+	 *
+	 * @param position
+	 * 		the position of the page
+	 * @return the desired background drawable, null if the page only has a desired color
+	 */
+	public Drawable getDesiredBackgroundDrawable(int position) {
+		if (usesPageFactories()) {
+			return pageFactories.get(position).getDesiredBackgroundDrawable();
+		} else {
+			return pages.get(position).getDesiredBackgroundDrawable();
+		}
+	}
+
 	@Override
 	public Fragment getItem(int position) {
-		return pages.get(position);
+		final Page page;
+
+		if (usesPageFactories()) {
+			final PageFactory factory = pageFactories.get(position);
+			page = factory.createPage();
+			page.setDesiredBackgroundColor(factory.getDesiredBackgroundColor());
+			page.setDesiredBackgroundDrawable(factory.getDesiredBackgroundDrawable());
+		} else {
+			page = pages.get(position);
+		}
+
+		final long itemId = getItemId(position);
+		final Fragment.SavedState savedState = savedPageStates.get(itemId);
+
+		if (savedState != null) {
+			savedPageStates.remove(itemId);
+			page.setInitialSavedState(savedState);
+		}
+
+		return page;
 	}
 
 	@Override
 	public int getCount() {
-		return pages.size();
+		return usesPageFactories() ? pageFactories.size() : pages.size();
+	}
+
+	/**
+	 * {@inheritDoc}The ID is assigned when the element at the supplied position is added, and
+	 * does not change if other elements are added or removed.
+	 */
+	@Override
+	public long getItemId(int position) {
+		return getItemIdOf(usesPageFactories() ? pageFactories.get(position) : pages.get(position));
+	}
+
+	/**
+	 * {@inheritDoc}The current position of the page is looked up using its item ID, and {@link
+	 * #POSITION_NONE} is returned if the element it was created from has been removed. The
+	 * positions are mapped once after each change to the lists, so each lookup takes constant
+	 * time.
+	 */
+	@Override
+	public int getItemPosition(Object object) {
+		final Long itemId = instantiatedItemIds.get(object);
+
+		if (itemId == null) {
+			return POSITION_NONE;
+		}
+
+		if (itemPositionsInvalid) {
+			rebuildItemPositions();
+		}
+
+		final Integer position = itemPositions.get(itemId);
+		return (position == null) ? POSITION_NONE : position;
+	}
+
+	@Override
+	public Object instantiateItem(ViewGroup container, int position) {
+		final Object item = super.instantiateItem(container, position);
+
+		instantiatedItemIds.put(item, getItemId(position));
+
+		if (item instanceof Page && !instantiatedPages.contains(item)) {
+			instantiatedPages.add((Page) item);
+		}
+
+		return item;
+	}
+
+	@Override
+	public void destroyItem(ViewGroup container, int position, Object object) {
+		final boolean itemStillExists = getItemPosition(object) != POSITION_NONE;
+
+		// Pages which no longer exist must be removed, otherwise they would never be reattached
+		if (destroyOffscreenPages || !itemStillExists) {
+			final Fragment fragment = (Fragment) object;
+
+			if (itemStillExists && fragment.isAdded()) {
+				savedPageStates.put(instantiatedItemIds.get(object),
+						fragmentManager.saveFragmentInstanceState(fragment));
+			}
+
+			if (removeTransaction == null) {
+				removeTransaction = fragmentManager.beginTransaction();
+			}
+
+			removeTransaction.remove(fragment);
+		} else {
+			super.destroyItem(container, position, object);
+		}
+
+		instantiatedItemIds.remove(object);
+		instantiatedPages.remove(object);
+	}
+
+	@Override
+	public void finishUpdate(ViewGroup container) {
+		if (removeTransaction != null) {
+			removeTransaction.commitAllowingStateLoss();
+			removeTransaction = null;
+
+			// The superclass only executes pending transactions if it has its own transaction, so
+			// the removals must be executed here before a removed page can be added again
+			fragmentManager.executePendingTransactions();
+		}
+
+		super.finishUpdate(container);
+
+		// The views of newly instantiated pages exist once the transactions have executed
+		if (scrollingLayerType != View.LAYER_TYPE_NONE) {
+			applyScrollingLayerType();
+		}
+	}
+
+	@Override
+	public Parcelable saveState() {
+		if (savedPageStates.size() == 0) {
+			return null;
+		}
+
+		final long[] ids = new long[savedPageStates.size()];
+		final Fragment.SavedState[] states = new Fragment.SavedState[savedPageStates.size()];
+
+		for (int i = 0; i < savedPageStates.size(); i++) {
+			ids[i] = savedPageStates.keyAt(i);
+			states[i] = savedPageStates.valueAt(i);
+		}
+
+		final Bundle state = new Bundle();
+		state.putLongArray(STATE_KEY_SAVED_PAGE_IDS, ids);
+		state.putParcelableArray(STATE_KEY_SAVED_PAGE_STATES, states);
+		return state;
+	}
+
+	@Override
+	public void restoreState(Parcelable state, ClassLoader loader) {
+		savedPageStates.clear();
+
+		if (state instanceof Bundle) {
+			final Bundle bundle = (Bundle) state;
+			bundle.setClassLoader(loader);
+
+			final long[] ids = bundle.getLongArray(STATE_KEY_SAVED_PAGE_IDS);
+			final Parcelable[] states = bundle.getParcelableArray(STATE_KEY_SAVED_PAGE_STATES);
+
+			if (ids != null && states != null) {
+				for (int i = 0; i < ids.length && i < states.length; i++) {
+					savedPageStates.put(ids[i], (Fragment.SavedState) states[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Applies {@code scrollingLayerType} to every instantiated page. Pages which already have the
+	 * layer type are not changed.
+	 */
+	private void applyScrollingLayerType() {
+		for (int i = 0; i < instantiatedPages.size(); i++) {
+			instantiatedPages.get(i).setScrollingLayerType(scrollingLayerType);
+		}
+	}
+
+	/**
+	 * Maps the item ID of every element of the adapted list to its current position.
+	 */
+	private void rebuildItemPositions() {
+		itemPositions.clear();
+
+		final int count = getCount();
+
+		for (int i = 0; i < count; i++) {
+			itemPositions.put(getItemId(i), i);
+		}
+
+		itemPositionsInvalid = false;
+	}
+
+	/**
+	 * Returns the item ID of an element, assigning a new ID if the element does not have one.
+	 *
+	 * @param element
+	 * 		an element of {@code pages} or {@code pageFactories}
+	 * @return the item ID of the element
+	 */
+	private long getItemIdOf(Object element) {
+		Long itemId = itemIds.get(element);
+
+		if (itemId == null) {
+			itemId = nextItemId++;
+			itemIds.put(element, itemId);
+		}
+
+		return itemId;
+	}
+
+	/**
+	 * Notifies the observers of this adapter that the lists have changed, or defers the
+	 * notification until the end of the current batch update.
+	 */
+	private void onDataSetChanged() {
+		if (openBatchCount > 0) {
+			changedDuringBatch = true;
+		} else {
+			notifyDataSetChanged();
+		}
+	}
+
+	/**
+	 * Determines which list this adapter adapts.
+	 *
+	 * @return true if the page factories are adapted, false if the pages are adapted
+	 * @throws IllegalStateException
+	 * 		if both lists contain elements
+	 */
+	private boolean usesPageFactories() {
+		if (pageFactories.isEmpty()) {
+			return false;
+		} else if (pages.isEmpty()) {
+			return true;
+		} else {
+			throw new IllegalStateException("pages and pageFactories cannot both contain elements");
+		}
 	}
 
+	/**
+	 * {@inheritDoc}Assigns an item ID to the new element, so that the existing pages keep their
+	 * IDs and are only repositioned by the {@code ViewPager}.
+	 */
 	@Override
 	public void onItemAdded(ArrayListWithCallbacks list, Object itemAdded, int index) {
-		notifyDataSetChanged();
+		getItemIdOf(itemAdded);
+		itemPositionsInvalid = true;
+
+		if (itemAddedListener != null) {
+			itemAddedListener.onItemAdded(list, itemAdded, index);
+		}
+
+		onDataSetChanged();
 	}
 
+	/**
+	 * {@inheritDoc}Discards the item ID and saved state of the removed element, so that only its
+	 * page is destroyed by the {@code ViewPager}.
+	 */
 	@Override
 	public void onItemRemoved(ArrayListWithCallbacks list, Object itemRemoved, int index) {
-		notifyDataSetChanged();
+		final Long itemId = itemIds.remove(itemRemoved);
+		itemPositionsInvalid = true;
+
+		if (itemId != null) {
+			savedPageStates.remove(itemId);
+		}
+
+		if (itemRemovedListener != null) {
+			itemRemovedListener.onItemRemoved(list, itemRemoved, index);
+		}
+
+		onDataSetChanged();
 	}
 
 	@Override
 	public void onListCleared(ArrayListWithCallbacks list) {
-		notifyDataSetChanged();
+		itemIds.clear();
+		savedPageStates.clear();
+		itemPositionsInvalid = true;
+
+		if (listClearedListener != null) {
+			listClearedListener.onListCleared(list);
+		}
+
+		onDataSetChanged();
 	}
 }
\ No newline at end of file
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+
+/**
+ * Draws the desired backgrounds of a series of pages as a single layer. Each page has a color and
+ * optionally a drawable, such as a gradient or an image. The colors of adjacent pages are blended,
+ * and their drawables are cross-faded by changing only their alpha, so that scrolling does not
+ * create any new objects. The drawables are copied and mutated when they are supplied, so that
+ * changing their alpha does not affect other users of the same drawables.
+ */
+final class PageBackgroundDrawable extends Drawable {
+	/**
+	 * The desired background colors of the pages.
+	 */
+	private final ColorGradient colors = new ColorGradient();
+
+	/**
+	 * The desired background drawables of the pages. Pages without drawables have null elements.
+	 */
+	private Drawable[] layers = new Drawable[0];
+
+	/**
+	 * The index of the first page currently displayed.
+	 */
+	private int position = 0;
+
+	/**
+	 * How far the scroll has progressed from {@code position} towards the next page.
+	 */
+	private float positionOffset = 0f;
+
+	/**
+	 * The blended color currently drawn, as an ARGB hex code.
+	 */
+	private int currentColor = 0;
+
+	/**
+	 * Sets the number of pages. The existing pages are retained if the number is unchanged,
+	 * otherwise all pages are reset.
+	 *
+	 * @param size
+	 * 		the number of pages, not less than 0
+	 */
+	void setSize(final int size) {
+		colors.setSize(size);
+
+		if (layers.length != size) {
+			layers = new Drawable[size];
+		}
+
+		position = Math.max(Math.min(position, size - 1), 0);
+	}
+
+	/**
+	 * Sets the desired background of a page.
+	 *
+	 * @param index
+	 * 		the index of the page
+	 * @param color
+	 * 		the desired background color of the page, as an ARGB hex code
+	 * @param layer
+	 * 		the desired background drawable of the page, null if the page only has a color
+	 * @param resources
+	 * 		the resources to create a copy of {@code layer} with
+	 */
+	void setPage(final int index, final int color, final Drawable layer,
+			final Resources resources) {
+		colors.setColor(index, color);
+		layers[index] = (layer == null) ? null : copyLayer(layer, resources);
+		invalidateSelf();
+	}
+
+	/**
+	 * Sets the scroll position of the pages and redraws if the background changed.
+	 *
+	 * @param position
+	 * 		the index of the first page currently displayed
+	 * @param positionOffset
+	 * 		how far the scroll has progressed from {@code position} towards {@code position + 1},
+	 * 		between 0 and 1
+	 */
+	void setPosition(final int position, final float positionOffset) {
+		if (colors.getSize() == 0) {
+			return;
+		}
+
+		final int color = colors.getColor(position, positionOffset);
+		final boolean layersChanged = (this.position != position ||
+				this.positionOffset != positionOffset) && (hasLayer(position) ||
+				hasLayer(this.position) || hasLayer(position + 1) || hasLayer(this.position + 1));
+
+		this.position = position;
+		this.positionOffset = positionOffset;
+
+		if (color != currentColor || layersChanged) {
+			currentColor = color;
+			invalidateSelf();
+		}
+	}
+
+	@Override
+	public void draw(final Canvas canvas) {
+		canvas.drawColor(currentColor);
+
+		if (layers.length > 0) {
+			final int nextPosition = Math.min(position + 1, layers.length - 1);
+
+			drawLayer(canvas, layers[position], 1f - positionOffset);
+
+			if (nextPosition != position) {
+				drawLayer(canvas, layers[nextPosition], positionOffset);
+			}
+		}
+	}
+
+	@Override
+	protected void onBoundsChange(final Rect bounds) {
+		super.onBoundsChange(bounds);
+
+		for (final Drawable layer : layers) {
+			if (layer != null) {
+				layer.setBounds(bounds);
+			}
+		}
+	}
+
+	@Override
+	public void setAlpha(final int alpha) {
+		// The alpha of each layer is controlled by the scroll position
+	}
+
+	@Override
+	public void setColorFilter(final ColorFilter colorFilter) {
+		// Not supported
+	}
+
+	@Override
+	public int getOpacity() {
+		return PixelFormat.TRANSLUCENT;
+	}
+
+	/**
+	 * Draws a layer with an alpha proportional to its visibility.
+	 *
+	 * @param canvas
+	 * 		the canvas to draw on
+	 * @param layer
+	 * 		the layer to draw, null to draw nothing
+	 * @param visibleFraction
+	 * 		how visible the layer is, between 0 and 1
+	 */
+	private static void drawLayer(final Canvas canvas, final Drawable layer,
+			final float visibleFraction) {
+		if (layer != null && visibleFraction > 0f) {
+			layer.setAlpha(Math.round(visibleFraction * 255));
+			layer.draw(canvas);
+		}
+	}
+
+	/**
+	 * @param index
+	 * 		the index of a page
+	 * @return true if the page exists and has a background drawable, false otherwise
+	 */
+	private boolean hasLayer(final int index) {
+		return index >= 0 && index < layers.length && layers[index] != null;
+	}
+
+	/**
+	 * Creates a mutable copy of a layer, so that its alpha can be changed independently.
+	 *
+	 * @param layer
+	 * 		the layer to copy, not null
+	 * @param resources
+	 * 		the resources to create the copy with
+	 * @return the copy
+	 */
+	private Drawable copyLayer(final Drawable layer, final Resources resources) {
+		final Drawable.ConstantState constantState = layer.getConstantState();
+		final Drawable copy = ((constantState == null) ? layer :
+				constantState.newDrawable(resources)).mutate();
+
+		copy.setBounds(getBounds());
+		return copy;
+	}
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+
+/**
+ * A lightweight description of a {@link Page}, which creates the {@code Page} only when it is
+ * first displayed. Using factories instead of pages allows an intro screen with many pages to start
+ * without constructing every page up front. Each factory stores the color its page would prefer to
+ * have drawn behind it, so that the background of the hosting {@code Context} can be transitioned
+ * before the page exists. Implementations should avoid holding large resources such as decoded
+ * images, since every factory is retained for the lifetime of the adapter.
+ */
+public abstract class PageFactory {
+	/**
+	 * The color the created page would prefer to have drawn behind it when displayed.
+	 */
+	protected int desiredBackgroundColour = Color.TRANSPARENT;
+
+	/**
+	 * The drawable the created page would prefer to have drawn behind it when displayed, over the
+	 * desired background color. Null if only the color should be drawn.
+	 */
+	protected Drawable desiredBackgroundDrawable = null;
+
+	/**
+	 * Sets the color the created {@code Page} would prefer to have drawn behind it when displayed.
+	 * The color is also applied to the {@code Page} when it is created by a {@link PageAdapter}.
+	 *
+	 * @param color
+	 * 		the desired background color
+	 */
+	public void setDesiredBackgroundColor(int color) {
+		this.desiredBackgroundColour = color;
+	}
+
+	/**
+	 * Returns the color the created {@code Page} would prefer to have drawn behind it when
+	 * displayed. If no color has been supplied to {@link #setDesiredBackgroundColor(int)} then
+	 * 0x00000000 (i.e. transparent) is returned.
+	 *
+	 * @return the desired background color
+	 */
+	public int getDesiredBackgroundColor() {
+		return desiredBackgroundColour;
+	}
+
+	/**
+	 * Sets the drawable the created {@code Page} would prefer to have drawn behind it when
+	 * displayed, over the desired background color. The drawable is also applied to the {@code
+	 * Page} when it is created by a {@link PageAdapter}.
+	 *
+	 * @param drawable
+	 * 		the desired background drawable, null to only use the desired background color
+	 */
+	public void setDesiredBackgroundDrawable(Drawable drawable) {
+		this.desiredBackgroundDrawable = drawable;
+	}
+
+	/**
+	 * @return the drawable the created {@code Page} would prefer to have drawn behind it when
+	 * displayed, null if none has been supplied to {@link #setDesiredBackgroundDrawable(Drawable)}
+	 */
+	public Drawable getDesiredBackgroundDrawable() {
+		return desiredBackgroundDrawable;
+	}
+
+	/**
+	 * Creates the {@code Page} described by this factory. This method is called on the main thread
+	 * when the {@code Page} is first displayed, and may be called again if the {@code Page} needs
+	 * to be recreated.
+	 *
+	 * @return the new {@code Page}, not null
+	 */
+	public abstract Page createPage();
+}
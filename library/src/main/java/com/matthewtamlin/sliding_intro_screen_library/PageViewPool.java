@@ -0,0 +1,395 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.content.Context;
+import android.content.res.XmlResourceParser;
+import android.os.AsyncTask;
+import android.util.AttributeSet;
+import android.util.Log;
+import android.util.SparseArray;
+import android.util.Xml;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import org.xmlpull.v1.XmlPullParser;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores views which have been inflated ahead of time, so that pages do not need to inflate their
+ * layouts on the main thread while the {@code ViewPager} is being scrolled. Each time a view is
+ * obtained from the pool, a replacement is inflated on a background thread. If no pre-inflated
+ * view is available, the layout is inflated on the main thread instead. All pools share a single
+ * inflation thread, in the same way as {@code AsyncLayoutInflater}, since {@code LayoutInflater}
+ * caches view constructors without synchronisation. This also keeps inflation from competing with
+ * the image decodes on the {@code AsyncTask} thread pool.
+ * <p/>
+ * Layouts are inflated in the background without the layout factories of the hosting activity,
+ * so views must be declared by their full class names (for example {@code
+ * android.support.v7.widget.AppCompatImageView}) to receive the same views as when inflated
+ * normally. Layouts which cannot be inflated in the background are always inflated on the main
+ * thread. This class must only be used on the main thread.
+ */
+public final class PageViewPool {
+	/**
+	 * Used during debugging and error reporting to identify this class.
+	 */
+	private static final String TAG = "[PageViewPool]";
+
+	/**
+	 * The time the inflation thread is kept alive for once idle, measured in seconds.
+	 */
+	private static final int INFLATION_THREAD_KEEP_ALIVE_SECONDS = 30;
+
+	/**
+	 * Runs every {@code InflateTask} in turn on a single thread, which stops once idle.
+	 */
+	private static final Executor INFLATION_EXECUTOR = createInflationExecutor();
+
+	/**
+	 * Inflates layouts on background threads.
+	 */
+	private final LayoutInflater backgroundInflater;
+
+	/**
+	 * The number of spare views to keep for each layout.
+	 */
+	private final int spareViewsPerLayout;
+
+	/**
+	 * The pre-inflated views, keyed by layout resource ID.
+	 */
+	private final SparseArray<List<View>> spareViews = new SparseArray<>();
+
+	/**
+	 * The parents which the views of each layout are obtained for, keyed by layout resource ID.
+	 * Used to generate the layout params of pre-inflated views.
+	 */
+	private final SparseArray<ViewGroup> parents = new SparseArray<>();
+
+	/**
+	 * The tasks currently inflating views.
+	 */
+	private final Set<InflateTask> pendingTasks = new HashSet<>();
+
+	/**
+	 * The layouts which could not be inflated in the background.
+	 */
+	private final Set<Integer> unsupportedLayouts = new HashSet<>();
+
+	/**
+	 * Whether or not views may currently be inflated in the background.
+	 */
+	private boolean backgroundInflationEnabled = true;
+
+	/**
+	 * Constructs a new {@code PageViewPool}.
+	 *
+	 * @param context
+	 * 		the context to inflate views in, not null
+	 * @param spareViewsPerLayout
+	 * 		the number of pre-inflated views to keep for each layout, at least 1
+	 * @throws IllegalArgumentException
+	 * 		if {@code context} is null, or if {@code spareViewsPerLayout} is less than 1
+	 */
+	public PageViewPool(final Context context, final int spareViewsPerLayout) {
+		if (context == null) {
+			throw new IllegalArgumentException("context cannot be null");
+		} else if (spareViewsPerLayout < 1) {
+			throw new IllegalArgumentException("spareViewsPerLayout must be at least 1");
+		}
+
+		this.backgroundInflater = new BasicInflater(context);
+		this.spareViewsPerLayout = spareViewsPerLayout;
+	}
+
+	/**
+	 * Returns a view of the specified layout. A pre-inflated view is returned if one is available,
+	 * otherwise the layout is inflated using the supplied inflater. In either case, replacement
+	 * views are then inflated in the background if background inflation is enabled.
+	 *
+	 * @param inflater
+	 * 		the inflater to use if no pre-inflated view is available, not null
+	 * @param layoutResId
+	 * 		the resource ID of the layout
+	 * @param parent
+	 * 		the view the returned view will be attached to, used to generate its layout params;
+	 * 		may be null
+	 * @return the view, not attached to any parent
+	 */
+	public View obtain(final LayoutInflater inflater, final int layoutResId,
+			final ViewGroup parent) {
+		if (parent != null) {
+			parents.put(layoutResId, parent);
+		}
+
+		final List<View> views = spareViews.get(layoutResId);
+		final View view = (views == null || views.isEmpty()) ?
+				inflater.inflate(layoutResId, parent, false) : views.remove(views.size() - 1);
+
+		replenish(layoutResId);
+
+		return view;
+	}
+
+	/**
+	 * Sets whether or not views may be inflated in the background. Disabling background
+	 * inflation is useful while the main thread is busy, such as during startup, since inflated
+	 * views are delivered on the main thread. When background inflation is enabled, replacement
+	 * views are inflated for every layout which has been obtained. Background inflation is enabled
+	 * by default.
+	 *
+	 * @param enabled
+	 * 		true to enable background inflation, false to disable it
+	 */
+	public void setBackgroundInflationEnabled(final boolean enabled) {
+		backgroundInflationEnabled = enabled;
+
+		if (enabled) {
+			for (int i = 0; i < parents.size(); i++) {
+				replenish(parents.keyAt(i));
+			}
+		}
+	}
+
+	/**
+	 * @return whether or not views may be inflated in the background
+	 */
+	public boolean isBackgroundInflationEnabled() {
+		return backgroundInflationEnabled;
+	}
+
+	/**
+	 * Returns the number of pre-inflated views currently available for a layout.
+	 *
+	 * @param layoutResId
+	 * 		the resource ID of the layout
+	 * @return the number of views
+	 */
+	public int getSpareViewCount(final int layoutResId) {
+		final List<View> views = spareViews.get(layoutResId);
+		return (views == null) ? 0 : views.size();
+	}
+
+	/**
+	 * Cancels all background inflation and discards all pre-inflated views. This method should be
+	 * called when the pool is no longer needed, so that it does not hold references to views.
+	 */
+	public void clear() {
+		for (final InflateTask task : pendingTasks) {
+			task.cancel(false);
+		}
+
+		pendingTasks.clear();
+		spareViews.clear();
+		parents.clear();
+	}
+
+	/**
+	 * Starts background inflation of a layout until there will be enough spare views of that
+	 * layout, unless background inflation is disabled or unsupported by the layout.
+	 *
+	 * @param layoutResId
+	 * 		the resource ID of the layout
+	 */
+	private void replenish(final int layoutResId) {
+		if (!backgroundInflationEnabled || unsupportedLayouts.contains(layoutResId)) {
+			return;
+		}
+
+		int expectedViews = getSpareViewCount(layoutResId);
+
+		for (final InflateTask task : pendingTasks) {
+			if (task.layoutResId == layoutResId) {
+				expectedViews++;
+			}
+		}
+
+		for (int i = expectedViews; i < spareViewsPerLayout; i++) {
+			final InflateTask task = new InflateTask(layoutResId, parents.get(layoutResId));
+			pendingTasks.add(task);
+			task.executeOnExecutor(INFLATION_EXECUTOR);
+		}
+	}
+
+	/**
+	 * Called on the main thread when an {@code InflateTask} completes.
+	 *
+	 * @param task
+	 * 		the task which completed
+	 * @param view
+	 * 		the inflated view, null if the layout could not be inflated in the background
+	 */
+	private void onInflated(final InflateTask task, final View view) {
+		pendingTasks.remove(task);
+
+		if (view == null) {
+			unsupportedLayouts.add(task.layoutResId);
+		} else {
+			List<View> views = spareViews.get(task.layoutResId);
+
+			if (views == null) {
+				views = new ArrayList<>(spareViewsPerLayout);
+				spareViews.put(task.layoutResId, views);
+			}
+
+			views.add(view);
+		}
+	}
+
+	/**
+	 * @return an executor which runs tasks one at a time on a single thread, and stops the thread
+	 * once it has been idle for {@code INFLATION_THREAD_KEEP_ALIVE_SECONDS}
+	 */
+	private static Executor createInflationExecutor() {
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1,
+				INFLATION_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<Runnable>());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Inflates a single view of a layout on the inflation thread and adds it to the pool.
+	 */
+	private final class InflateTask extends AsyncTask<Void, Void, View> {
+		/**
+		 * The resource ID of the layout to inflate.
+		 */
+		private final int layoutResId;
+
+		/**
+		 * The view the inflated view will be attached to, null if unknown.
+		 */
+		private final ViewGroup parent;
+
+		/**
+		 * Constructs a new {@code InflateTask}.
+		 *
+		 * @param layoutResId
+		 * 		the resource ID of the layout to inflate
+		 * @param parent
+		 * 		the view the inflated view will be attached to, null if unknown
+		 */
+		InflateTask(final int layoutResId, final ViewGroup parent) {
+			this.layoutResId = layoutResId;
+			this.parent = parent;
+		}
+
+		@Override
+		protected View doInBackground(final Void... params) {
+			try {
+				final View view = backgroundInflater.inflate(layoutResId, null, false);
+
+				if (parent != null) {
+					view.setLayoutParams(generateLayoutParams());
+				}
+
+				return view;
+			} catch (final RuntimeException e) {
+				// Some views must be constructed on a thread with a Looper
+				Log.w(TAG, "[doInBackground] [layout could not be inflated in the background]", e);
+				return null;
+			}
+		}
+
+		@Override
+		protected void onPostExecute(final View view) {
+			onInflated(this, view);
+		}
+
+		/**
+		 * Generates the layout params of the root element of the layout, as the parent would if
+		 * the layout were inflated into it.
+		 *
+		 * @return the layout params
+		 */
+		private ViewGroup.LayoutParams generateLayoutParams() {
+			final XmlResourceParser parser = backgroundInflater.getContext().getResources()
+					.getLayout(layoutResId);
+
+			try {
+				int type;
+
+				do {
+					type = parser.next();
+				} while (type != XmlPullParser.START_TAG && type != XmlPullParser.END_DOCUMENT);
+
+				final AttributeSet attrs = Xml.asAttributeSet(parser);
+				return parent.generateLayoutParams(attrs);
+			} catch (final Exception e) {
+				throw new RuntimeException("could not read layout params", e);
+			} finally {
+				parser.close();
+			}
+		}
+	}
+
+	/**
+	 * Inflates layouts without the factories of the hosting activity, which are not safe to use
+	 * off the main thread.
+	 */
+	private static final class BasicInflater extends LayoutInflater {
+		/**
+		 * The packages to search for views declared without a package.
+		 */
+		private static final String[] CLASS_PREFIXES = {"android.widget.", "android.webkit.",
+				"android.app."};
+
+		/**
+		 * Constructs a new {@code BasicInflater}.
+		 *
+		 * @param context
+		 * 		the context to inflate views in
+		 */
+		BasicInflater(final Context context) {
+			super(context);
+		}
+
+		@Override
+		public LayoutInflater cloneInContext(final Context newContext) {
+			return new BasicInflater(newContext);
+		}
+
+		@Override
+		protected View onCreateView(final String name, final AttributeSet attrs) throws
+				ClassNotFoundException {
+			for (final String prefix : CLASS_PREFIXES) {
+				try {
+					final View view = createView(name, prefix, attrs);
+
+					if (view != null) {
+						return view;
+					}
+				} catch (final ClassNotFoundException e) {
+					// Try the next prefix
+				}
+			}
+
+			return super.onCreateView(name, attrs);
+		}
+	}
+}
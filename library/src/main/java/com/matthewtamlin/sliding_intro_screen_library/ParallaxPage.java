@@ -16,11 +16,19 @@
 
 package com.matthewtamlin.sliding_intro_screen_library;
 
+import android.content.Context;
 import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
 import android.os.Bundle;
+import android.support.v7.widget.AppCompatImageView;
+import android.support.v7.widget.AppCompatTextView;
+import android.util.TypedValue;
+import android.view.Gravity;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver.OnPreDrawListener;
 import android.widget.FrameLayout;
 import android.widget.ImageView;
 import android.widget.TextView;
@@ -29,6 +37,16 @@ import android.widget.TextView;
  * An intro screen {@code Page} with three elements: a front image, a back image and text. The
  * front and back images are centred at the top the {@code Page}, such that the front image is
  * drawn on top of the back image. The text is drawn over both images.
+ * <p/>
+ * Images can be supplied as decoded {@code Bitmap}s, or as {@link ImageSource}s. Image sources are
+ * decoded on a background thread once the {@code Page} has been laid out, and are sampled down to
+ * the size they are displayed at. The placeholder is displayed until decoding finishes. Decoded
+ * images are shared with other pages through a {@link BitmapCache}, and are released when the view
+ * of this {@code Page} is destroyed.
+ * <p/>
+ * By default the views of this {@code Page} are inflated from XML. Call {@link
+ * #setBuildLayoutInCode(boolean)} to construct them directly instead, which avoids parsing the
+ * layout and constructing the views by reflection.
  */
 public class ParallaxPage extends Page {
 	/**
@@ -66,6 +84,116 @@ public class ParallaxPage extends Page {
 	 */
 	protected CharSequence text = null;
 
+	/**
+	 * The source to decode the front image from, null if the front image was supplied directly.
+	 */
+	protected ImageSource frontImageSource = null;
+
+	/**
+	 * The source to decode the back image from, null if the back image was supplied directly.
+	 */
+	protected ImageSource backImageSource = null;
+
+	/**
+	 * Displayed in place of each image while the image is being decoded.
+	 */
+	protected Drawable placeholder = null;
+
+	/**
+	 * Stores the images decoded from {@code frontImageSource} and {@code backImageSource}.
+	 */
+	protected BitmapCache bitmapCache = BitmapCache.getDefault();
+
+	/**
+	 * The content currently displayed by {@code frontImageHolder}: either {@code frontImage} or
+	 * {@code placeholder}. Used to avoid binding content which is already displayed.
+	 */
+	private Object boundFrontImage = null;
+
+	/**
+	 * The content currently displayed by {@code backImageHolder}: either {@code backImage} or
+	 * {@code placeholder}. Used to avoid binding content which is already displayed.
+	 */
+	private Object boundBackImage = null;
+
+	/**
+	 * The text currently displayed by {@code textHolder}. Used to avoid binding text which is
+	 * already displayed.
+	 */
+	private CharSequence boundText = null;
+
+	/**
+	 * Whether or not the views are constructed in code rather than inflated from XML.
+	 */
+	private boolean buildLayoutInCode = false;
+
+	/**
+	 * The layout params of the image holders when the views are constructed in code, null to use
+	 * the defaults.
+	 */
+	private FrameLayout.LayoutParams imageLayoutParams = null;
+
+	/**
+	 * The layout params of the text holder when the views are constructed in code, null to use
+	 * the defaults.
+	 */
+	private FrameLayout.LayoutParams textLayoutParams = null;
+
+	/**
+	 * The task currently decoding {@code frontImageSource}, null if there is no such task.
+	 */
+	private ImageLoadTask frontImageTask = null;
+
+	/**
+	 * The task currently decoding {@code backImageSource}, null if there is no such task.
+	 */
+	private ImageLoadTask backImageTask = null;
+
+	/**
+	 * Receives the images decoded from {@code frontImageSource}.
+	 */
+	private final ImageLoadTask.OnImageLoadedListener frontImageLoadedListener =
+			new ImageLoadTask.OnImageLoadedListener() {
+				@Override
+				public void onImageLoaded(final ImageSource source, final Bitmap image) {
+					frontImageTask = null;
+
+					if (image != null) {
+						frontImage = image;
+						notifyFrontImageChanged();
+					}
+				}
+			};
+
+	/**
+	 * Receives the images decoded from {@code backImageSource}.
+	 */
+	private final ImageLoadTask.OnImageLoadedListener backImageLoadedListener =
+			new ImageLoadTask.OnImageLoadedListener() {
+				@Override
+				public void onImageLoaded(final ImageSource source, final Bitmap image) {
+					backImageTask = null;
+
+					if (image != null) {
+						backImage = image;
+						notifyBackImageChanged();
+					}
+				}
+			};
+
+	/**
+	 * Starts decoding the image sources once the root view has been laid out, since the size of
+	 * the image holders is needed to sample the images.
+	 */
+	private final OnPreDrawListener loadImagesWhenLaidOut = new OnPreDrawListener() {
+		@Override
+		public boolean onPreDraw() {
+			rootView.getViewTreeObserver().removeOnPreDrawListener(this);
+			loadImages();
+			return true;
+		}
+	};
+
 	/**
 	 * Constructs a new {@code ParallaxPage} instance. Avoid calling this method, instead call
 	 * {@link #newInstance()}.
@@ -85,24 +213,61 @@ public class ParallaxPage extends Page {
 	public View onCreateView(final LayoutInflater inflater, final ViewGroup container,
 			final Bundle savedInstanceState) {
 
-		rootView = (FrameLayout) inflater.inflate(R.layout.fragment_page, container, false);
-		frontImageHolder = (ImageView) rootView.findViewById(R.id.page_fragment_imageHolderFront);
-		backImageHolder = (ImageView) rootView.findViewById(R.id.page_fragment_imageHolderBack);
-		textHolder = (TextView) rootView.findViewById(R.id.page_fragment_textHolder);
+		if (buildLayoutInCode) {
+			buildLayout(inflater.getContext());
+		} else {
+			rootView = (FrameLayout) obtainView(inflater, R.layout.fragment_page, container);
+			frontImageHolder = (ImageView) rootView.findViewById(
+					R.id.page_fragment_imageHolderFront);
+			backImageHolder = (ImageView) rootView.findViewById(
+					R.id.page_fragment_imageHolderBack);
+			textHolder = (TextView) rootView.findViewById(R.id.page_fragment_textHolder);
+		}
+
+		// The new views are empty, so any content must be bound
+		boundFrontImage = null;
+		boundBackImage = null;
+		boundText = null;
 
 		notifyFrontImageChanged();
 		notifyBackImageChanged();
 		notifyTextChanged();
 
+		rootView.getViewTreeObserver().addOnPreDrawListener(loadImagesWhenLaidOut);
+
 		return rootView;
 	}
 
+	@Override
+	public void onDestroyView() {
+		super.onDestroyView();
+
+		rootView.getViewTreeObserver().removeOnPreDrawListener(loadImagesWhenLaidOut);
+		cancelImageLoading();
+
+		// Decoded images are reloaded from the cache if the view is recreated
+		frontImageHolder.setImageDrawable(null);
+		backImageHolder.setImageDrawable(null);
+		releaseFrontImage();
+		releaseBackImage();
+	}
+
 	@Override
 	public void onCreate(Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
 		setRetainInstance(true);
 	}
 
+	/**
+	 * {@inheritDoc}This implementation applies the layer type to the front and back images only,
+	 * since these are the views translated by {@link ParallaxTransformer}.
+	 */
+	@Override
+	public void setScrollingLayerType(final int layerType) {
+		setLayerTypeIfChanged(frontImageHolder, layerType);
+		setLayerTypeIfChanged(backImageHolder, layerType);
+	}
+
 	/**
 	 * Sets and displays the front image of this {@code ParallaxPage}.
 	 *
@@ -110,10 +275,36 @@ public class ParallaxPage extends Page {
 	 * 		the image to display
 	 */
 	public void setFrontImage(final Bitmap frontImage) {
+		cancelFrontImageLoading();
+		releaseFrontImage();
+
+		this.frontImageSource = null;
 		this.frontImage = frontImage;
 		notifyFrontImageChanged();
 	}
 
+	/**
+	 * Sets the source of the front image of this {@code ParallaxPage}. The source is decoded on a
+	 * background thread, and the placeholder is displayed until the decoded image is available.
+	 * Nothing is done if the source is equal to the current source.
+	 *
+	 * @param frontImageSource
+	 * 		the source of the image to display
+	 */
+	public void setFrontImage(final ImageSource frontImageSource) {
+		if (isSameSource(frontImageSource, this.frontImageSource)) {
+			return;
+		}
+
+		cancelFrontImageLoading();
+		releaseFrontImage();
+
+		this.frontImageSource = frontImageSource;
+		this.frontImage = null;
+		notifyFrontImageChanged();
+		loadImagesIfLaidOut();
+	}
+
 	/**
 	 * @return the current front image, null if none exists
 	 */
@@ -128,10 +319,36 @@ public class ParallaxPage extends Page {
 	 * 		the image to display
 	 */
 	public void setBackImage(final Bitmap backImage) {
+		cancelBackImageLoading();
+		releaseBackImage();
+
+		this.backImageSource = null;
 		this.backImage = backImage;
 		notifyBackImageChanged();
 	}
 
+	/**
+	 * Sets the source of the back image of this {@code ParallaxPage}. The source is decoded on a
+	 * background thread, and the placeholder is displayed until the decoded image is available.
+	 * Nothing is done if the source is equal to the current source.
+	 *
+	 * @param backImageSource
+	 * 		the source of the image to display
+	 */
+	public void setBackImage(final ImageSource backImageSource) {
+		if (isSameSource(backImageSource, this.backImageSource)) {
+			return;
+		}
+
+		cancelBackImageLoading();
+		releaseBackImage();
+
+		this.backImageSource = backImageSource;
+		this.backImage = null;
+		notifyBackImageChanged();
+		loadImagesIfLaidOut();
+	}
+
 	/**
 	 * @return the current back image, null if none exists
 	 */
@@ -139,6 +356,117 @@ public class ParallaxPage extends Page {
 		return backImage;
 	}
 
+	/**
+	 * Sets the placeholder to display in place of each image while the image is being decoded
+	 * from its source.
+	 *
+	 * @param placeholder
+	 * 		the placeholder to display, null to display nothing
+	 */
+	public void setPlaceholder(final Drawable placeholder) {
+		this.placeholder = placeholder;
+		notifyFrontImageChanged();
+		notifyBackImageChanged();
+	}
+
+	/**
+	 * @return the current placeholder, null if none exists
+	 */
+	public Drawable getPlaceholder() {
+		return placeholder;
+	}
+
+	/**
+	 * Sets the cache to store images decoded from image sources in. By default, the cache returned
+	 * by {@link BitmapCache#getDefault()} is used.
+	 *
+	 * @param bitmapCache
+	 * 		the cache to use, not null
+	 * @throws IllegalArgumentException
+	 * 		if {@code bitmapCache} is null
+	 */
+	public void setBitmapCache(final BitmapCache bitmapCache) {
+		if (bitmapCache == null) {
+			throw new IllegalArgumentException("bitmapCache cannot be null");
+		}
+
+		cancelImageLoading();
+		releaseFrontImage();
+		releaseBackImage();
+
+		this.bitmapCache = bitmapCache;
+		notifyFrontImageChanged();
+		notifyBackImageChanged();
+		loadImagesIfLaidOut();
+	}
+
+	/**
+	 * @return the cache which stores images decoded from image sources, not null
+	 */
+	public BitmapCache getBitmapCache() {
+		return bitmapCache;
+	}
+
+	/**
+	 * Sets whether the views of this {@code ParallaxPage} are constructed in code or inflated from
+	 * XML. Both produce the same views with the same IDs, so {@link ParallaxTransformer} works
+	 * with either. This method only affects views created after it is called. By default the views
+	 * are inflated.
+	 *
+	 * @param buildLayoutInCode
+	 * 		true to construct the views in code, false to inflate them
+	 */
+	public void setBuildLayoutInCode(final boolean buildLayoutInCode) {
+		this.buildLayoutInCode = buildLayoutInCode;
+	}
+
+	/**
+	 * @return whether or not the views of this {@code ParallaxPage} are constructed in code
+	 */
+	public boolean getBuildLayoutInCode() {
+		return buildLayoutInCode;
+	}
+
+	/**
+	 * Sets the layout params to apply to the front and back image holders when the views are
+	 * constructed in code. Each holder receives its own copy of the params. By default the image
+	 * holders match the width of the page, wrap their content and are centred at the top of the
+	 * page.
+	 *
+	 * @param layoutParams
+	 * 		the layout params to apply, null to use the defaults
+	 */
+	public void setImageLayoutParams(final FrameLayout.LayoutParams layoutParams) {
+		this.imageLayoutParams = layoutParams;
+	}
+
+	/**
+	 * @return the layout params applied to the image holders when the views are constructed in
+	 * code, null if the defaults are used
+	 */
+	public FrameLayout.LayoutParams getImageLayoutParams() {
+		return imageLayoutParams;
+	}
+
+	/**
+	 * Sets the layout params to apply to the text holder when the views are constructed in code.
+	 * By default the text holder wraps its content and is centred in the page.
+	 *
+	 * @param layoutParams
+	 * 		the layout params to apply, null to use the defaults
+	 */
+	public void setTextLayoutParams(final FrameLayout.LayoutParams layoutParams) {
+		this.textLayoutParams = layoutParams;
+	}
+
+	/**
+	 * @return the layout params applied to the text holder when the views are constructed in code,
+	 * null if the defaults are used
+	 */
+	public FrameLayout.LayoutParams getTextLayoutParams() {
+		return textLayoutParams;
+	}
+
 	/**
 	 * Sets and displays the text of this {@code ParallaxPage}.
 	 *
@@ -150,39 +478,374 @@ public class ParallaxPage extends Page {
 		notifyTextChanged();
 	}
 
+	/**
+	 * Sets and displays all content of this {@code ParallaxPage} at once. This is equivalent to
+	 * calling {@link #setFrontImage(Bitmap)}, {@link #setBackImage(Bitmap)} and {@link
+	 * #setText(CharSequence)}, except that each view is only updated if its content has changed.
+	 *
+	 * @param frontImage
+	 * 		the front image to display
+	 * @param backImage
+	 * 		the back image to display
+	 * @param text
+	 * 		the text to display
+	 */
+	public void setContent(final Bitmap frontImage, final Bitmap backImage,
+			final CharSequence text) {
+		cancelImageLoading();
+		releaseFrontImage();
+		releaseBackImage();
+
+		this.frontImageSource = null;
+		this.frontImage = frontImage;
+		this.backImageSource = null;
+		this.backImage = backImage;
+		this.text = text;
+
+		notifyFrontImageChanged();
+		notifyBackImageChanged();
+		notifyTextChanged();
+	}
+
+	/**
+	 * Sets and displays all content of this {@code ParallaxPage} at once. This is equivalent to
+	 * calling {@link #setFrontImage(ImageSource)}, {@link #setBackImage(ImageSource)} and {@link
+	 * #setText(CharSequence)}, except that each view is only updated if its content has changed.
+	 * Images whose sources are equal to the current sources are kept rather than decoded again.
+	 *
+	 * @param frontImageSource
+	 * 		the source of the front image to display
+	 * @param backImageSource
+	 * 		the source of the back image to display
+	 * @param text
+	 * 		the text to display
+	 */
+	public void setContent(final ImageSource frontImageSource, final ImageSource backImageSource,
+			final CharSequence text) {
+		final boolean frontImageChanged = !isSameSource(frontImageSource, this.frontImageSource);
+		final boolean backImageChanged = !isSameSource(backImageSource, this.backImageSource);
+
+		if (frontImageChanged) {
+			cancelFrontImageLoading();
+			releaseFrontImage();
+
+			this.frontImageSource = frontImageSource;
+			this.frontImage = null;
+			notifyFrontImageChanged();
+		}
+
+		if (backImageChanged) {
+			cancelBackImageLoading();
+			releaseBackImage();
+
+			this.backImageSource = backImageSource;
+			this.backImage = null;
+			notifyBackImageChanged();
+		}
+
+		this.text = text;
+		notifyTextChanged();
+
+		if (frontImageChanged || backImageChanged) {
+			loadImagesIfLaidOut();
+		}
+	}
+
 	/**
 	 * Updates the UI of this {@code ParallaxPage} to reflect the image supplied to
 	 * {@link #setFrontImage(Bitmap)}. There is no need to explicitly call this method after
-	 * calling {@link #setFrontImage(Bitmap)}.
+	 * calling {@link #setFrontImage(Bitmap)}. If the image is already displayed, it is redrawn
+	 * rather than bound again, so that changes to its pixels are shown without a layout pass.
 	 */
 	public void notifyFrontImageChanged() {
 		if (frontImageHolder != null) {
-			frontImageHolder.setImageBitmap(null); // Forces reset
-			frontImageHolder.setImageBitmap(frontImage);
+			boundFrontImage = bindImage(frontImageHolder, frontImage, frontImageSource,
+					boundFrontImage);
 		}
 	}
 
 	/**
 	 * Updates the UI of this {@code ParallaxPage} to reflect the image supplied to
 	 * {@link #setBackImage(Bitmap)}. There is no need to explicitly call this method after calling
-	 * {@link #setBackImage(Bitmap)}.
+	 * {@link #setBackImage(Bitmap)}. If the image is already displayed, it is redrawn rather than
+	 * bound again, so that changes to its pixels are shown without a layout pass.
 	 */
 	public void notifyBackImageChanged() {
 		if (backImageHolder != null) {
-			backImageHolder.setImageBitmap(null); // Forces reset
-			backImageHolder.setImageBitmap(backImage);
+			boundBackImage = bindImage(backImageHolder, backImage, backImageSource,
+					boundBackImage);
 		}
 	}
 
 	/**
 	 * Updated the UI of this {@code ParallaxPage} to reflect the text supplied to {@link
 	 * #setText(CharSequence)}. There is no need to explicitly call this method after calling
-	 * {@link #setText(CharSequence)}.
+	 * {@link #setText(CharSequence)}. Strings are not bound again if they are already displayed.
 	 */
 	public void notifyTextChanged() {
-		if (textHolder != null) {
-			textHolder.setText(null); // Forces reset
+		if (textHolder != null && !isSameText(text, boundText)) {
 			textHolder.setText(text);
+			boundText = text;
+		}
+	}
+
+	/**
+	 * Displays an image, or the placeholder if the image is being decoded from its source. Since
+	 * binding an image causes the holder to be laid out again, the holder is only redrawn if the
+	 * content is already displayed.
+	 *
+	 * @param imageHolder
+	 * 		the view to display the content in
+	 * @param image
+	 * 		the image to display, null if none exists
+	 * @param imageSource
+	 * 		the source of the image, null if the image was supplied directly
+	 * @param boundContent
+	 * 		the content currently displayed by {@code imageHolder}
+	 * @return the content now displayed by {@code imageHolder}
+	 */
+	private Object bindImage(final ImageView imageHolder, final Bitmap image,
+			final ImageSource imageSource, final Object boundContent) {
+		final boolean showPlaceholder = (image == null && imageSource != null);
+		final Object content = showPlaceholder ? placeholder : image;
+
+		if (content != boundContent) {
+			if (showPlaceholder) {
+				imageHolder.setImageDrawable(copyPlaceholder());
+			} else {
+				imageHolder.setImageBitmap(image);
+			}
+		} else if (content != null) {
+			imageHolder.invalidate();
+		}
+
+		return content;
+	}
+
+	/**
+	 * Determines whether a new image source describes the image already supplied by the current
+	 * source, in which case the current image can be kept.
+	 *
+	 * @param newSource
+	 * 		the new source, may be null
+	 * @param currentSource
+	 * 		the current source, may be null
+	 * @return true if the new source is not null and is equal to the current source, false
+	 * otherwise
+	 */
+	private static boolean isSameSource(final ImageSource newSource,
+			final ImageSource currentSource) {
+		return newSource != null && newSource.equals(currentSource);
+	}
+
+	/**
+	 * Determines whether two texts are known to be the same. Texts other than strings may be
+	 * mutable, so they are never considered the same unless both are null.
+	 *
+	 * @param text1
+	 * 		the first text, may be null
+	 * @param text2
+	 * 		the second text, may be null
+	 * @return true if the texts are the same, false otherwise
+	 */
+	private static boolean isSameText(final CharSequence text1, final CharSequence text2) {
+		if (text1 == null) {
+			return text2 == null;
+		} else {
+			return text1 instanceof String && text1.equals(text2);
+		}
+	}
+
+	/**
+	 * Constructs the same views as {@code fragment_page.xml} and assigns them to {@code rootView},
+	 * {@code frontImageHolder}, {@code backImageHolder} and {@code textHolder}.
+	 *
+	 * @param context
+	 * 		the context to construct the views in
+	 */
+	private void buildLayout(final Context context) {
+		rootView = new FrameLayout(context);
+		rootView.setId(R.id.page_fragment_root);
+		rootView.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+				ViewGroup.LayoutParams.MATCH_PARENT));
+		rootView.setBackgroundColor(Color.TRANSPARENT);
+
+		// The back image is added first so that it is drawn behind the front image
+		backImageHolder = createImageHolder(context, R.id.page_fragment_imageHolderBack);
+		frontImageHolder = createImageHolder(context, R.id.page_fragment_imageHolderFront);
+
+		textHolder = new AppCompatTextView(context);
+		textHolder.setId(R.id.page_fragment_textHolder);
+		textHolder.setLayoutParams((textLayoutParams == null) ?
+				new FrameLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT,
+						ViewGroup.LayoutParams.WRAP_CONTENT, Gravity.CENTER) :
+				copyLayoutParams(textLayoutParams));
+
+		rootView.addView(backImageHolder);
+		rootView.addView(frontImageHolder);
+		rootView.addView(textHolder);
+	}
+
+	/**
+	 * Constructs an image holder matching those in {@code fragment_page.xml}.
+	 *
+	 * @param context
+	 * 		the context to construct the image holder in
+	 * @param id
+	 * 		the ID of the image holder
+	 * @return the image holder
+	 */
+	private ImageView createImageHolder(final Context context, final int id) {
+		final int horizontalPadding = (int) TypedValue.applyDimension(
+				TypedValue.COMPLEX_UNIT_DIP, 16, context.getResources().getDisplayMetrics());
+
+		final ImageView imageHolder = new AppCompatImageView(context);
+		imageHolder.setId(id);
+		imageHolder.setAdjustViewBounds(true);
+		imageHolder.setPadding(horizontalPadding, 0, horizontalPadding, 0);
+		imageHolder.setLayoutParams((imageLayoutParams == null) ?
+				new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+						ViewGroup.LayoutParams.WRAP_CONTENT, Gravity.CENTER | Gravity.TOP) :
+				copyLayoutParams(imageLayoutParams));
+
+		return imageHolder;
+	}
+
+	/**
+	 * Copies layout params, so that they can be applied to multiple views. The copy constructor of
+	 * {@code FrameLayout.LayoutParams} is not available before API 19.
+	 *
+	 * @param source
+	 * 		the layout params to copy
+	 * @return the copy
+	 */
+	private static FrameLayout.LayoutParams copyLayoutParams(
+			final FrameLayout.LayoutParams source) {
+		final FrameLayout.LayoutParams copy =
+				new FrameLayout.LayoutParams((ViewGroup.MarginLayoutParams) source);
+		copy.gravity = source.gravity;
+
+		return copy;
+	}
+
+	/**
+	 * Starts decoding the image sources if the root view has been laid out. Otherwise the images
+	 * are decoded once layout occurs.
+	 */
+	private void loadImagesIfLaidOut() {
+		if (rootView != null && rootView.getWidth() > 0) {
+			loadImages();
+		}
+	}
+
+	/**
+	 * Displays each image source which has not been decoded and is not being decoded, either from
+	 * the cache or by decoding it.
+	 */
+	private void loadImages() {
+		final int requestedHeight = rootView.getHeight();
+
+		if (frontImage == null && frontImageSource != null && frontImageTask == null) {
+			final int requestedWidth = getRequestedWidth(frontImageHolder);
+			frontImage = bitmapCache.acquire(frontImageSource, requestedWidth, requestedHeight);
+
+			if (frontImage == null) {
+				frontImageTask = new ImageLoadTask(frontImageSource, requestedWidth,
+						requestedHeight, bitmapCache, frontImageLoadedListener).start();
+			} else {
+				notifyFrontImageChanged();
+			}
 		}
+
+		if (backImage == null && backImageSource != null && backImageTask == null) {
+			final int requestedWidth = getRequestedWidth(backImageHolder);
+			backImage = bitmapCache.acquire(backImageSource, requestedWidth, requestedHeight);
+
+			if (backImage == null) {
+				backImageTask = new ImageLoadTask(backImageSource, requestedWidth, requestedHeight,
+						bitmapCache, backImageLoadedListener).start();
+			} else {
+				notifyBackImageChanged();
+			}
+		}
+	}
+
+	/**
+	 * Calculates the width to sample an image to. Images are scaled to the width of their holder,
+	 * and cannot be taller than the page.
+	 *
+	 * @param imageHolder
+	 * 		the view which will display the image
+	 * @return the width, measured in pixels
+	 */
+	private static int getRequestedWidth(final ImageView imageHolder) {
+		return imageHolder.getWidth() - imageHolder.getPaddingLeft() -
+				imageHolder.getPaddingRight();
+	}
+
+	/**
+	 * Releases the front image back to the cache if it was decoded from a source. Images which
+	 * were supplied directly are owned by the caller and are not released.
+	 */
+	private void releaseFrontImage() {
+		if (frontImageSource != null && frontImage != null) {
+			bitmapCache.release(frontImage);
+			frontImage = null;
+		}
+	}
+
+	/**
+	 * Releases the back image back to the cache if it was decoded from a source. Images which were
+	 * supplied directly are owned by the caller and are not released.
+	 */
+	private void releaseBackImage() {
+		if (backImageSource != null && backImage != null) {
+			bitmapCache.release(backImage);
+			backImage = null;
+		}
+	}
+
+	/**
+	 * Stops decoding all image sources.
+	 */
+	private void cancelImageLoading() {
+		cancelFrontImageLoading();
+		cancelBackImageLoading();
+	}
+
+	/**
+	 * Stops decoding the front image source, if it is being decoded.
+	 */
+	private void cancelFrontImageLoading() {
+		if (frontImageTask != null) {
+			frontImageTask.cancel(false);
+			frontImageTask = null;
+		}
+	}
+
+	/**
+	 * Stops decoding the back image source, if it is being decoded.
+	 */
+	private void cancelBackImageLoading() {
+		if (backImageTask != null) {
+			backImageTask.cancel(false);
+			backImageTask = null;
+		}
+	}
+
+	/**
+	 * Creates a copy of the placeholder, since a single {@code Drawable} cannot be displayed in
+	 * multiple views at once.
+	 *
+	 * @return the copy, null if there is no placeholder
+	 */
+	private Drawable copyPlaceholder() {
+		if (placeholder == null) {
+			return null;
+		}
+
+		final Drawable.ConstantState constantState = placeholder.getConstantState();
+
+		return (constantState == null) ? placeholder : constantState.newDrawable();
 	}
-}
\ No newline at end of file
+}
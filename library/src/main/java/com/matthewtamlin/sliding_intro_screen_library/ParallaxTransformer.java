@@ -18,58 +18,169 @@ package com.matthewtamlin.sliding_intro_screen_library;
 
 import android.support.v4.view.ViewPager;
 import android.view.View;
-import android.widget.ImageView;
-
-
-import java.util.HashMap;
 
 /**
  * Transforms a {@code ParallaxPage} by translating its views left and right when scrolling. Front
  * images are translated faster than back images, which creates a parallax scrolling effect. This
  * class is designed to function with {@code ParallaxPage} elements and may not function with other
  * {@code Page} subclasses.
+ * <p/>
+ * By default only the front image is translated, however any number of layers can be supplied to
+ * {@link #ParallaxTransformer(int[], float[])}. Each layer is identified by a view ID and has its
+ * own speed factor. This allows the transformer to be used with other {@code Page} subclasses,
+ * provided their views have the supplied IDs.
  */
 public final class ParallaxTransformer implements ViewPager.PageTransformer {
 	/**
-	 * Stores references to the views to animate. This is more efficient than frequent calls to
-	 * {@code findViewById(int)}.
+	 * The speed factor applied to the front image when the default constructor is used.
+	 */
+	private static final float DEFAULT_FRONT_IMAGE_SPEED_FACTOR = 0.25f;
+
+	/**
+	 * The IDs of the views to translate in each page.
+	 */
+	private final int[] layerIds;
+
+	/**
+	 * The speed factor of each layer, where the element at each index corresponds to the ID at the
+	 * same index of {@code layerIds}.
+	 */
+	private final float[] speedFactors;
+
+	/**
+	 * Constructs a new {@code ParallaxTransformer} which translates the front image of each {@code
+	 * ParallaxPage}.
 	 */
-	private final HashMap<View, ImageView> cachedViews = new HashMap<>();
+	public ParallaxTransformer() {
+		this(new int[]{R.id.page_fragment_imageHolderFront},
+				new float[]{DEFAULT_FRONT_IMAGE_SPEED_FACTOR});
+	}
+
+	/**
+	 * Constructs a new {@code ParallaxTransformer} which translates the supplied layers of each
+	 * page. The translation of each layer is the product of the page width, the position of the
+	 * page relative to the centre of the {@code ViewPager}, and the speed factor of the layer. A
+	 * speed factor of 0 causes a layer to scroll with its page, and larger speed factors cause
+	 * layers to appear to scroll more slowly than their page. Layers which are not found in a page
+	 * are ignored.
+	 *
+	 * @param layerIds
+	 * 		the IDs of the views to translate in each page, not null
+	 * @param speedFactors
+	 * 		the speed factor of each layer, where the element at each index corresponds to the ID at
+	 * 		the same index of {@code layerIds}, not null
+	 * @throws IllegalArgumentException
+	 * 		if either argument is null, or if the arguments have different lengths
+	 */
+	public ParallaxTransformer(final int[] layerIds, final float[] speedFactors) {
+		if (layerIds == null) {
+			throw new IllegalArgumentException("layerIds cannot be null");
+		} else if (speedFactors == null) {
+			throw new IllegalArgumentException("speedFactors cannot be null");
+		} else if (layerIds.length != speedFactors.length) {
+			throw new IllegalArgumentException("layerIds and speedFactors must be the same length");
+		}
+
+		this.layerIds = layerIds.clone();
+		this.speedFactors = speedFactors.clone();
+	}
 
+	/**
+	 * {@inheritDoc}The transform applied to each page is recorded, and no work is done if the page
+	 * has not moved since it was last transformed. Pages beyond the adjacent positions are given
+	 * the same transform as pages at the adjacent positions, and the selected page always has its
+	 * layers returned exactly to their untranslated positions.
+	 */
 	@Override
 	public void transformPage(final View pageRootView, final float position) {
-		ImageView frontImageHolder = getFrontImageHolder(pageRootView);
+		final CachedLayers cachedLayers = getCachedLayers(pageRootView);
+		final float clampedPosition = Math.max(-1f, Math.min(1f, position));
+		final int pageWidth = pageRootView.getWidth();
+
+		if (clampedPosition == cachedLayers.lastPosition && pageWidth == cachedLayers.lastWidth) {
+			return; // Nothing has changed
+		}
 
-		boolean pageIsSelected = (position == 0f);
-		boolean pageIsScrolling = (position > -1f && position < 1f);
+		cachedLayers.lastPosition = clampedPosition;
+		cachedLayers.lastWidth = pageWidth;
 
-		if (pageIsSelected) {
-			pageRootView.invalidate();
-		} else if (pageIsScrolling) {
-			//TODO clarify how the scale is quantified
-			float n = 0.5f;
+		final float pageOffset = pageWidth * clampedPosition;
+		final View[] layers = cachedLayers.layers;
 
-			// Transform front image holder
-			frontImageHolder.setTranslationX(pageRootView.getWidth() * position * n / 2);
+		// Only translations are applied, so the layers do not need to be redrawn
+		for (int i = 0; i < layers.length; i++) {
+			if (layers[i] != null) {
+				layers[i].setTranslationX(pageOffset * speedFactors[i]);
+			}
 		}
 	}
 
 	/**
-	 * Returns the front image for {@code Page}. Using this method is more efficient than calling
-	 * {@code findViewById} each time the {@code View} is needed.
+	 * Returns the cached layers of the supplied page. The layers are found once per page and are
+	 * then cached in a tag of the page root view, so no lookups are needed on subsequent calls and
+	 * the cached references cannot outlive the page root view.
 	 *
 	 * @param pageRootView
-	 * 		the root view of the {@code ParallaxPage} to transform
-	 * @return the front image holder of the {@code ParallaxPage} to transform
+	 * 		the root view of the page to transform
+	 * @return the cached layers of the page
 	 */
-	private ImageView getFrontImageHolder(final View pageRootView) {
-		ImageView frontImage = cachedViews.get(pageRootView);
+	private CachedLayers getCachedLayers(final View pageRootView) {
+		final Object tag = pageRootView.getTag(R.id.parallax_transformer_cachedViews);
 
-		if (frontImage == null) {
-			frontImage = (ImageView) pageRootView.findViewById(R.id.page_fragment_imageHolderFront);
-			cachedViews.put(pageRootView, frontImage);
+		// The page may have been transformed by a different transformer previously
+		if (tag instanceof CachedLayers && ((CachedLayers) tag).owner == this) {
+			return (CachedLayers) tag;
 		}
 
-		return frontImage;
+		final View[] layers = new View[layerIds.length];
+
+		for (int i = 0; i < layerIds.length; i++) {
+			layers[i] = pageRootView.findViewById(layerIds[i]);
+		}
+
+		final CachedLayers cachedLayers = new CachedLayers(this, layers);
+		pageRootView.setTag(R.id.parallax_transformer_cachedViews, cachedLayers);
+
+		return cachedLayers;
+	}
+
+	/**
+	 * The layers of a single page as found by a particular {@code ParallaxTransformer}, and the
+	 * transform last applied to them.
+	 */
+	private static final class CachedLayers {
+		/**
+		 * The transformer which found the layers.
+		 */
+		private final ParallaxTransformer owner;
+
+		/**
+		 * The layers of the page.
+		 */
+		private final View[] layers;
+
+		/**
+		 * The clamped position used to transform the layers most recently, NaN if the layers have
+		 * not been transformed yet.
+		 */
+		private float lastPosition = Float.NaN;
+
+		/**
+		 * The page width used to transform the layers most recently, measured in pixels.
+		 */
+		private int lastWidth;
+
+		/**
+		 * Constructs a new {@code CachedLayers} instance.
+		 *
+		 * @param owner
+		 * 		the transformer which found the layers
+		 * @param layers
+		 * 		the layers of the page
+		 */
+		private CachedLayers(final ParallaxTransformer owner, final View[] layers) {
+			this.owner = owner;
+			this.layers = layers;
+		}
 	}
-}
\ No newline at end of file
+}
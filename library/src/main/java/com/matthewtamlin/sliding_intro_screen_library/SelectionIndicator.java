@@ -31,7 +31,7 @@ import static android.widget.RelativeLayout.LayoutParams.MATCH_PARENT;
 /**
  * Displays a set of {@link Dot} elements to indicate the active item in a set.
  */
-public class SelectionIndicator extends RelativeLayout {
+public class SelectionIndicator extends RelativeLayout implements ItemIndicator {
 	/**
 	 * Used during debugging to identify this class.
 	 */
@@ -83,11 +83,6 @@ public class SelectionIndicator extends RelativeLayout {
 	 */
 	private int numberOfItems;
 
-	/**
-	 * The index of the currently selected item, starting at 0.
-	 */
-	private int activeItemIndex;
-
 	/**
 	 * The diameter to use for each {@code Dot} representing an unselected item.
 	 */
@@ -124,6 +119,27 @@ public class SelectionIndicator extends RelativeLayout {
 	 */
 	private final ArrayList<Dot> dots = new ArrayList<>();
 
+	/**
+	 * Tracks the active item and scroll position, and determines which dots must change when
+	 * either is updated.
+	 */
+	private final DotUpdater dotUpdater = new DotUpdater(new DotUpdater.Dots() {
+		@Override
+		public void setActive(final int index, final boolean animate) {
+			dots.get(index).setActive(animate);
+		}
+
+		@Override
+		public void setInactive(final int index, final boolean animate) {
+			dots.get(index).setInactive(animate);
+		}
+
+		@Override
+		public void setActiveFraction(final int index, final float activeFraction) {
+			dots.get(index).setActiveFraction(activeFraction);
+		}
+	});
+
 	/**
 	 * Constructs a new {@code SelectionIndicator}. If an attribute specific to this class is not
 	 * provided, the relevant default is used. The defaults are:<p/>
@@ -220,8 +236,9 @@ public class SelectionIndicator extends RelativeLayout {
 		numberOfItems = attributes
 				.getInt(R.styleable.SelectionIndicator_numberOfItems, DEFAULT_NUMBER_OF_ITEMS);
 
-		activeItemIndex = attributes
+		final int activeItemIndex = attributes
 				.getInt(R.styleable.SelectionIndicator_activeItemIndex, DEFAULT_ACTIVE_ITEM_INDEX);
+		dotUpdater.reset(numberOfItems, activeItemIndex);
 
 		inactiveDotDiameterPx = attributes
 				.getDimensionPixelSize(R.styleable.SelectionIndicator_inactiveDotDiameter,
@@ -261,29 +278,66 @@ public class SelectionIndicator extends RelativeLayout {
 		dots.clear();
 		removeAllViews();
 
+		final int activeItemIndex = dotUpdater.getActiveItemIndex();
+		dotUpdater.reset(numberOfItems, activeItemIndex);
+
 		for (int i = 0; i < numberOfItems; i++) {
-			Dot dot = new Dot(getContext());
-			dot.setInactiveDiameter(inactiveDotDiameterPx).setActiveDiameter(activeDotDiameterPx)
-					.setActiveColor(activeDotColor).setInactiveColor(inactiveDotColor)
-					.setTransitionDuration(transitionDurationMs);
-
-			if (i == activeItemIndex) {
-				dot.setActive(false);
-			} else {
-				dot.setInactive(false);
-			}
-
-			int maxDim = Math.max(activeDotDiameterPx, inactiveDotDiameterPx);
-			int leftMargin = i * (spacingBetweenDotsPx + inactiveDotDiameterPx);
-			LayoutParams params = new LayoutParams(maxDim, maxDim);
-			params.setMargins(leftMargin, 0, 0, 0);
-			dot.setLayoutParams(params);
+			Dot dot = createDot(i == activeItemIndex);
+			positionDot(dot, i);
 
 			dots.add(i, dot);
 			addView(dot);
 		}
 	}
 
+	/**
+	 * Constructs a dot which reflects the current instance variables.
+	 *
+	 * @param active
+	 * 		whether the dot should be active or inactive
+	 * @return the new dot
+	 */
+	private Dot createDot(final boolean active) {
+		Dot dot = new Dot(getContext());
+		dot.beginUpdate().setInactiveDiameter(inactiveDotDiameterPx)
+				.setActiveDiameter(activeDotDiameterPx).setActiveColor(activeDotColor)
+				.setInactiveColor(inactiveDotColor).setTransitionDuration(transitionDurationMs)
+				.endUpdate();
+
+		if (active) {
+			dot.setActive(false);
+		} else {
+			dot.setInactive(false);
+		}
+
+		return dot;
+	}
+
+	/**
+	 * Positions a dot so that it represents the item at the supplied index. The existing layout
+	 * parameters of the dot are reused if possible.
+	 *
+	 * @param dot
+	 * 		the dot to position
+	 * @param index
+	 * 		the index of the item the dot represents
+	 */
+	private void positionDot(final Dot dot, final int index) {
+		int maxDim = Math.max(activeDotDiameterPx, inactiveDotDiameterPx);
+		int leftMargin = index * (spacingBetweenDotsPx + inactiveDotDiameterPx);
+
+		final LayoutParams existingParams = (LayoutParams) dot.getLayoutParams();
+
+		if (existingParams == null) {
+			LayoutParams params = new LayoutParams(maxDim, maxDim);
+			params.setMargins(leftMargin, 0, 0, 0);
+			dot.setLayoutParams(params);
+		} else if (existingParams.leftMargin != leftMargin) {
+			existingParams.leftMargin = leftMargin;
+			dot.setLayoutParams(existingParams);
+		}
+	}
+
 	/**
 	 * Forces a redraw of all dots.
 	 */
@@ -292,29 +346,44 @@ public class SelectionIndicator extends RelativeLayout {
 	}
 
 	/**
-	 * Updates the UI to reflect the new active item.
+	 * Updates the UI to reflect the new active item. The existing dots are reused, and only the
+	 * previously active dot and the newly active dot are updated.
 	 *
 	 * @param activeItemIndex
 	 * 		the index of the active item, starting at 0
 	 * @param animate
 	 * 		whether the update should be animated
 	 */
+	@Override
 	public void setActiveItem(final int activeItemIndex, boolean animate) {
-		if (activeItemIndex > dots.size() - 1) {
-			throw new IllegalArgumentException("newActiveItemIndex exceeds the number of items");
-		} else if (activeItemIndex < 0) {
-			throw new IllegalArgumentException("newActiveItemIndex must be greater than 0");
-		}
+		dotUpdater.setActiveItem(activeItemIndex, animate);
+	}
 
-		this.activeItemIndex = activeItemIndex;
-		drawDots();
+	/**
+	 * Updates the UI to reflect a scroll between two consecutive items. The dots are resized and
+	 * recolored directly without animating, so that the UI stays synchronised with the scroll. The
+	 * parameters of this method correspond to those of {@code onPageScrolled(int, float, int)} in
+	 * {@link android.support.v4.view.ViewPager.OnPageChangeListener}, so this method can be called
+	 * directly from that callback. The active item is updated to whichever item is closest to
+	 * being fully displayed.
+	 *
+	 * @param position
+	 * 		the index of the first item currently displayed
+	 * @param positionOffset
+	 * 		how far the scroll has progressed from {@code position} towards {@code position + 1},
+	 * 		between 0 and 1
+	 */
+	@Override
+	public void setScrollPosition(final int position, final float positionOffset) {
+		dotUpdater.setScrollPosition(position, positionOffset);
 	}
 
 	/**
 	 * @return the index of the dot which is currently active
 	 */
+	@Override
 	public int getActiveItemIndex() {
-		return activeItemIndex;
+		return dotUpdater.getActiveItemIndex();
 	}
 
 	/**
@@ -323,11 +392,73 @@ public class SelectionIndicator extends RelativeLayout {
 	 * @param numberOfItems
 	 * 		the number of items to represent with this indicator
 	 */
+	@Override
 	public void setNumberOfItems(int numberOfItems) {
 		this.numberOfItems = numberOfItems;
 		drawDots();
 	}
 
+	@Override
+	public int getNumberOfItems() {
+		return numberOfItems;
+	}
+
+	/**
+	 * Inserts a single item into the set this indicator represents. Only one new dot is created,
+	 * and the existing dots are shifted to make room for it. The active item is unchanged, unless
+	 * the set was previously empty in which case the new item becomes active.
+	 *
+	 * @param index
+	 * 		the index to insert the item at, between 0 and the current number of items inclusive
+	 */
+	@Override
+	public void insertItem(final int index) {
+		if (index > dots.size()) {
+			throw new IllegalArgumentException("index exceeds the number of items");
+		} else if (index < 0) {
+			throw new IllegalArgumentException("index must be greater than 0");
+		}
+
+		dotUpdater.settleScrollPosition();
+		dotUpdater.onItemInserted(index);
+
+		final Dot dot = createDot(index == dotUpdater.getActiveItemIndex());
+		dots.add(index, dot);
+		addView(dot);
+		numberOfItems = dots.size();
+
+		for (int i = index; i < dots.size(); i++) {
+			positionDot(dots.get(i), i);
+		}
+	}
+
+	/**
+	 * Removes a single item from the set this indicator represents. Only the dot representing the
+	 * item is removed, and the remaining dots are shifted to close the gap. If the active item is
+	 * removed, the item which takes its place becomes active.
+	 *
+	 * @param index
+	 * 		the index of the item to remove, starting at 0
+	 */
+	@Override
+	public void removeItem(final int index) {
+		if (index > dots.size() - 1) {
+			throw new IllegalArgumentException("index exceeds the number of items");
+		} else if (index < 0) {
+			throw new IllegalArgumentException("index must be greater than 0");
+		}
+
+		dotUpdater.settleScrollPosition();
+
+		removeView(dots.remove(index));
+		numberOfItems = dots.size();
+		dotUpdater.onItemRemoved(index);
+
+		for (int i = index; i < dots.size(); i++) {
+			positionDot(dots.get(i), i);
+		}
+	}
+
 	/**
 	 * Sets the diameter to use for each {@code Dot} which represents an unselected item.
 	 *
@@ -352,6 +483,13 @@ public class SelectionIndicator extends RelativeLayout {
 		setInactiveDotDiameterPx(diameterPx);
 	}
 
+	/**
+	 * @return the diameter of each dot which represents an unselected item, measured in pixels
+	 */
+	public int getInactiveDotDiameterPx() {
+		return inactiveDotDiameterPx;
+	}
+
 	/**
 	 * Sets the diameter to use for the {@code Dot} which represents the selected item.
 	 *
@@ -376,6 +514,13 @@ public class SelectionIndicator extends RelativeLayout {
 		setActiveDotDiameterPx(diameterPx);
 	}
 
+	/**
+	 * @return the diameter of the dot which represents the selected item, measured in pixels
+	 */
+	public int getActiveDotDiameterPx() {
+		return activeDotDiameterPx;
+	}
+
 	/**
 	 * Sets the color to use for each {@code Dot} which represents an unselected item.
 	 *
@@ -387,6 +532,13 @@ public class SelectionIndicator extends RelativeLayout {
 		drawDots();
 	}
 
+	/**
+	 * @return the color of each dot which represents an unselected item, as an ARGB hex code
+	 */
+	public int getInactiveDotColor() {
+		return inactiveDotColor;
+	}
+
 	/**
 	 * Sets the color to use for the {@code Dot} which represents the selected item.
 	 *
@@ -398,6 +550,13 @@ public class SelectionIndicator extends RelativeLayout {
 		drawDots();
 	}
 
+	/**
+	 * @return the color of the dot which represents the selected item, as an ARGB hex code
+	 */
+	public int getActiveDotColor() {
+		return activeDotColor;
+	}
+
 	/**
 	 * Sets the spacing to use between subsequent dots, as measured from the edges of the dots when
 	 * inactive.
@@ -410,6 +569,13 @@ public class SelectionIndicator extends RelativeLayout {
 		drawDots();
 	}
 
+	/**
+	 * @return the spacing between subsequent inactive dots, measured in pixels
+	 */
+	public int getSpacingBetweenDotsPx() {
+		return spacingBetweenDotsPx;
+	}
+
 	/**
 	 * Sets the duration of time to use when transitioning dots from active to inactive
 	 *
@@ -420,4 +586,12 @@ public class SelectionIndicator extends RelativeLayout {
 		this.transitionDurationMs = transitionDurationMs;
 		drawDots();
 	}
+
+	/**
+	 * @return the duration of time used when transitioning dots from active to inactive,
+	 * measured in milliseconds
+	 */
+	public int getTransitionDurationMs() {
+		return transitionDurationMs;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+/**
+ * Calculates the progress of the dot transitions on every animation frame. The calculations use
+ * primitives only, so that animating does not allocate. {@code ValueAnimator.getAnimatedValue()}
+ * boxes its result, and {@code ValueAnimator.getAnimatedFraction()} is not available on API 11.
+ */
+final class TransitionMath {
+	/**
+	 * Calculates how far a transition has progressed, using the same acceleration and deceleration
+	 * as the default interpolator of {@code ValueAnimator}.
+	 *
+	 * @param playTimeMs
+	 * 		the time since the transition started, measured in milliseconds
+	 * @param durationMs
+	 * 		the duration of the transition, measured in milliseconds
+	 * @return the progress of the transition, between 0 and 1
+	 */
+	static float getAnimatedFraction(final long playTimeMs, final long durationMs) {
+		if (durationMs <= 0 || playTimeMs >= durationMs) {
+			return 1f;
+		} else if (playTimeMs <= 0) {
+			return 0f;
+		}
+
+		final double linearFraction = (double) playTimeMs / durationMs;
+		return (float) (Math.cos((linearFraction + 1) * Math.PI) / 2.0) + 0.5f;
+	}
+
+	/**
+	 * Interpolates linearly between two values.
+	 *
+	 * @param start
+	 * 		the value when {@code fraction} is 0
+	 * @param end
+	 * 		the value when {@code fraction} is 1
+	 * @param fraction
+	 * 		how far to interpolate from {@code start} towards {@code end}
+	 * @return the interpolated value
+	 */
+	static float interpolate(final float start, final float end, final float fraction) {
+		return start + (end - start) * fraction;
+	}
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Measures the memory allocated by the current thread. Tests which use this class are skipped on
+ * JVMs which do not support allocation tracking.
+ */
+final class AllocationCounter {
+	/**
+	 * The memory each call of a per-frame operation may allocate, measured in bytes. This is
+	 * smaller than the smallest object, so an operation which allocates on every call exceeds the
+	 * budget. Occasional allocations and the measurement overhead are spread over many calls, so
+	 * they stay within it.
+	 */
+	static final long MAX_BYTES_PER_CALL = 8;
+
+	/**
+	 * Reports the allocations of each thread, if supported by the JVM.
+	 */
+	private final com.sun.management.ThreadMXBean threadBean;
+
+	/**
+	 * The memory allocated by the measuring itself, measured in bytes.
+	 */
+	private final long overheadBytes;
+
+	/**
+	 * The memory which had been allocated when measuring started, measured in bytes.
+	 */
+	private long startBytes;
+
+	/**
+	 * Constructs a new {@code AllocationCounter}, and skips the calling test if allocations cannot
+	 * be measured.
+	 */
+	AllocationCounter() {
+		final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+
+		threadBean = (com.sun.management.ThreadMXBean) bean;
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+		threadBean.setThreadAllocatedMemoryEnabled(true);
+
+		// Reading the counter may itself allocate, so measure the cost of an empty measurement
+		start();
+		start();
+		overheadBytes = stop();
+	}
+
+	/**
+	 * Measures the memory allocated by an operation. The operation is run once for each repetition
+	 * to warm up, so that class loading and lazily created objects are not measured, and then once
+	 * more for each repetition while measuring.
+	 *
+	 * @param operation
+	 * 		the operation to measure, not null
+	 * @param repetitions
+	 * 		the number of times to run the operation, greater than zero
+	 * @param callsPerRepetition
+	 * 		the number of calls under test made by each run of the operation, greater than zero
+	 * @return the memory allocated per call, measured in bytes
+	 */
+	static long measureBytesPerCall(final Runnable operation, final int repetitions,
+			final int callsPerRepetition) {
+		final AllocationCounter counter = new AllocationCounter();
+
+		for (int i = 0; i < repetitions; i++) {
+			operation.run();
+		}
+
+		counter.start();
+
+		for (int i = 0; i < repetitions; i++) {
+			operation.run();
+		}
+
+		return counter.stop() / ((long) repetitions * callsPerRepetition);
+	}
+
+	/**
+	 * Starts measuring allocations.
+	 */
+	void start() {
+		startBytes = getAllocatedBytes();
+	}
+
+	/**
+	 * @return the memory allocated by the current thread since {@link #start()} was called,
+	 * measured in bytes
+	 */
+	long stop() {
+		return getAllocatedBytes() - startBytes - overheadBytes;
+	}
+
+	/**
+	 * @return the total memory allocated by the current thread, measured in bytes
+	 */
+	private long getAllocatedBytes() {
+		return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
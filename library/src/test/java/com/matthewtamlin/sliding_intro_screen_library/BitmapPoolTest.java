@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.graphics.Bitmap;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Tests for {@link BitmapPool}.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class BitmapPoolTest {
+	/**
+	 * The configuration of the images used in the tests.
+	 */
+	private static final Bitmap.Config CONFIG = Bitmap.Config.ARGB_8888;
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructor_maxBytesZero() {
+		new BitmapPool(0);
+	}
+
+	@Test
+	public void testGet_emptyPool() {
+		assertThat(new BitmapPool(1000000).get(10, 10, 1, CONFIG), is(nullValue()));
+	}
+
+	@Test
+	public void testGet_reusesLargeEnoughImage() {
+		final BitmapPool pool = new BitmapPool(1000000);
+		final Bitmap image = createImage(20, 20);
+		pool.put(image);
+
+		assertThat(pool.get(10, 10, 2, CONFIG), is(sameInstance(image)));
+		assertThat(pool.get(10, 10, 2, CONFIG), is(nullValue()));
+	}
+
+	@Test
+	public void testGet_doesNotReuseSmallerImage() {
+		final BitmapPool pool = new BitmapPool(1000000);
+		pool.put(createImage(10, 10));
+
+		assertThat(pool.get(20, 20, 1, CONFIG), is(nullValue()));
+	}
+
+	@Test
+	public void testGet_doesNotReuseDifferentConfig() {
+		final BitmapPool pool = new BitmapPool(1000000);
+		pool.put(createImage(10, 10));
+
+		assertThat(pool.get(10, 10, 1, Bitmap.Config.RGB_565), is(nullValue()));
+	}
+
+	@Test
+	public void testPut_discardsUnusableImages() {
+		final BitmapPool pool = new BitmapPool(1000000);
+		final Bitmap recycledImage = createImage(10, 10);
+		recycledImage.recycle();
+
+		pool.put(null);
+		pool.put(createImage(10, 10).copy(CONFIG, false));
+		pool.put(recycledImage);
+
+		assertThat(pool.get(10, 10, 1, CONFIG), is(nullValue()));
+	}
+
+	@Test
+	public void testPut_discardsImageLargerThanPool() {
+		final Bitmap image = createImage(10, 10);
+		final BitmapPool pool = new BitmapPool(BitmapPool.getSizeInBytes(image) - 1);
+		pool.put(image);
+
+		assertThat(pool.get(10, 10, 1, CONFIG), is(nullValue()));
+	}
+
+	@Test
+	public void testPut_evictsOldestImages() {
+		final Bitmap oldestImage = createImage(10, 10);
+		final Bitmap middleImage = createImage(10, 10);
+		final Bitmap newestImage = createImage(10, 10);
+		final BitmapPool pool = new BitmapPool(BitmapPool.getSizeInBytes(oldestImage) * 2);
+
+		pool.put(oldestImage);
+		pool.put(middleImage);
+		pool.put(newestImage);
+
+		assertThat(pool.get(10, 10, 1, CONFIG), is(sameInstance(newestImage)));
+		assertThat(pool.get(10, 10, 1, CONFIG), is(sameInstance(middleImage)));
+		assertThat(pool.get(10, 10, 1, CONFIG), is(nullValue()));
+	}
+
+	@Test
+	public void testClear() {
+		final BitmapPool pool = new BitmapPool(1000000);
+		pool.put(createImage(10, 10));
+		pool.clear();
+
+		assertThat(pool.getCurrentBytes(), is(0));
+		assertThat(pool.get(10, 10, 1, CONFIG), is(nullValue()));
+	}
+
+	/**
+	 * Creates a mutable image.
+	 *
+	 * @param width
+	 * 		the width of the image, measured in pixels
+	 * @param height
+	 * 		the height of the image, measured in pixels
+	 * @return the image
+	 */
+	private static Bitmap createImage(final int width, final int height) {
+		return Bitmap.createBitmap(width, height, CONFIG).copy(CONFIG, true);
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link ColorGradient}.
+ */
+public class ColorGradientTest {
+	/**
+	 * The gradient under test, containing red, green and blue in that order.
+	 */
+	private ColorGradient gradient;
+
+	@Before
+	public void setup() {
+		gradient = new ColorGradient();
+		gradient.setSize(3);
+		gradient.setColor(0, 0xFFFF0000);
+		gradient.setColor(1, 0xFF00FF00);
+		gradient.setColor(2, 0xFF0000FF);
+	}
+
+	@Test
+	public void testGetColor_atPositions() {
+		assertEquals(0xFFFF0000, gradient.getColor(0, 0f));
+		assertEquals(0xFF00FF00, gradient.getColor(1, 0f));
+		assertEquals(0xFF0000FF, gradient.getColor(2, 0f));
+	}
+
+	@Test
+	public void testGetColor_betweenPositions() {
+		assertEquals(0xFF7F7F00, gradient.getColor(0, 0.5f));
+		assertEquals(0xFF00FF00, gradient.getColor(0, 1f));
+	}
+
+	@Test
+	public void testGetColor_atLastPosition() {
+		assertEquals(0xFF0000FF, gradient.getColor(2, 0.5f));
+	}
+
+	@Test
+	public void testSetSize_unchangedSizeRetainsColors() {
+		gradient.setSize(3);
+		assertEquals(3, gradient.getSize());
+		assertEquals(0xFF00FF00, gradient.getColor(1, 0f));
+	}
+
+	@Test
+	public void testSetSize_changedSizeResetsColors() {
+		gradient.setSize(4);
+		assertEquals(4, gradient.getSize());
+		assertEquals(0, gradient.getColor(1, 0f));
+	}
+
+	@Test
+	public void testBlend() {
+		assertEquals(0xFFFF0000, ColorGradient.blend(0xFFFF0000, 0x000000FF, 1f));
+		assertEquals(0x000000FF, ColorGradient.blend(0xFFFF0000, 0x000000FF, 0f));
+		assertEquals(0x7F7F007F, ColorGradient.blend(0xFFFF0000, 0x000000FF, 0.5f));
+	}
+
+	@Test
+	public void testBlend_sameColors() {
+		assertEquals(0x80123456, ColorGradient.blend(0x80123456, 0x80123456, 0.3f));
+	}
+}
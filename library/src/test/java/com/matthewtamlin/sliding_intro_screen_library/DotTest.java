@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.animation.ValueAnimator;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link Dot}, including the allocation budget of each animation frame.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class DotTest {
+	/**
+	 * The duration of the transitions in the tests, measured in milliseconds. Each millisecond is
+	 * stepped through as a separate frame.
+	 */
+	private static final int TRANSITION_DURATION_MS = 200;
+
+	/**
+	 * The number of times to step through a transition when measuring allocations.
+	 */
+	private static final int TRANSITION_COUNT = 50;
+
+	@Test
+	public void testTransitionFrame_doesNotAllocate() {
+		final Dot dot = new Dot(RuntimeEnvironment.application);
+		dot.setInactiveColor(0x80FF0000);
+		dot.setActiveColor(0xFFFFFFFF);
+		dot.setTransitionDuration(TRANSITION_DURATION_MS);
+		dot.setActive(true);
+
+		final ValueAnimator animator = dot.getTransitionAnimator();
+		assertThat(animator.isStarted(), is(true));
+
+		// Each play time is a frame, delivered through the update listener of the real animator
+		final long bytesPerFrame = AllocationCounter.measureBytesPerCall(new Runnable() {
+			@Override
+			public void run() {
+				for (int playTime = 0; playTime < TRANSITION_DURATION_MS; playTime++) {
+					animator.setCurrentPlayTime(playTime);
+				}
+			}
+		}, TRANSITION_COUNT, TRANSITION_DURATION_MS);
+
+		assertEquals("bytes allocated per frame", 0, bytesPerFrame);
+		assertThat(dot.getActiveFraction(), is(greaterThan(0.9f)));
+	}
+
+	@Test
+	public void testSetActiveFraction_doesNotAllocate() {
+		final Dot dot = new Dot(RuntimeEnvironment.application);
+		dot.setInactiveColor(0x80FF0000);
+
+		final long bytesPerCall = AllocationCounter.measureBytesPerCall(new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i <= 100; i++) {
+					dot.setActiveFraction(i / 100f);
+				}
+			}
+		}, TRANSITION_COUNT, 101);
+
+		assertEquals("bytes allocated per call", 0, bytesPerCall);
+	}
+}
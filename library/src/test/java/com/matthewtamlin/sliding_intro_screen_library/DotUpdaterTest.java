@@ -0,0 +1,322 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link DotUpdater}, which decides the dot updates made by {@link
+ * SelectionIndicator}.
+ */
+public class DotUpdaterTest {
+	/**
+	 * The number of items in the indicator under test.
+	 */
+	private static final int NUMBER_OF_ITEMS = 50;
+
+	/**
+	 * The dots updated by the updater under test.
+	 */
+	private RecordingDots dots;
+
+	/**
+	 * The updater under test, initially with the first item active.
+	 */
+	private DotUpdater updater;
+
+	@Before
+	public void setup() {
+		dots = new RecordingDots(NUMBER_OF_ITEMS, 0);
+		updater = new DotUpdater(dots);
+		updater.reset(NUMBER_OF_ITEMS, 0);
+	}
+
+	@Test
+	public void testSetActiveItem_onlyUpdatesChangedDots() {
+		updater.setActiveItem(30, false);
+
+		assertEquals(30, updater.getActiveItemIndex());
+		assertEquals(2, dots.updateCount);
+		dots.checkOnlyActive(30);
+	}
+
+	@Test
+	public void testSetActiveItem_unchanged() {
+		updater.setActiveItem(0, false);
+
+		assertEquals(1, dots.updateCount);
+		dots.checkOnlyActive(0);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetActiveItem_indexTooLarge() {
+		updater.setActiveItem(NUMBER_OF_ITEMS, false);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetActiveItem_indexNegative() {
+		updater.setActiveItem(-1, false);
+	}
+
+	@Test
+	public void testSetScrollPosition_blendsAdjacentDots() {
+		updater.setScrollPosition(0, 0.25f);
+
+		assertEquals(0.75f, dots.fractions.get(0), 0f);
+		assertEquals(0.25f, dots.fractions.get(1), 0f);
+		assertEquals(0, updater.getActiveItemIndex());
+
+		updater.setScrollPosition(0, 0.75f);
+
+		assertEquals(1, updater.getActiveItemIndex());
+	}
+
+	@Test
+	public void testSetScrollPosition_onlyUpdatesChangedDots() {
+		updater.setScrollPosition(0, 0.5f);
+		dots.updateCount = 0;
+
+		updater.setScrollPosition(1, 0.5f);
+
+		assertEquals(3, dots.updateCount);
+		assertEquals(0f, dots.fractions.get(0), 0f);
+		assertEquals(0.5f, dots.fractions.get(1), 0f);
+		assertEquals(0.5f, dots.fractions.get(2), 0f);
+	}
+
+	@Test
+	public void testSetScrollPosition_deactivatesDotsAfterJump() {
+		updater.setScrollPosition(0, 0.5f);
+		updater.setScrollPosition(20, 0f);
+
+		dots.checkOnlyActive(20);
+	}
+
+	@Test
+	public void testSetScrollPosition_atLastItem() {
+		updater.setScrollPosition(NUMBER_OF_ITEMS - 1, 0f);
+
+		dots.checkOnlyActive(NUMBER_OF_ITEMS - 1);
+		assertEquals(NUMBER_OF_ITEMS - 1, updater.getActiveItemIndex());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetScrollPosition_positionTooLarge() {
+		updater.setScrollPosition(NUMBER_OF_ITEMS, 0f);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetScrollPosition_offsetTooLarge() {
+		updater.setScrollPosition(0, 1.5f);
+	}
+
+	@Test
+	public void testSetActiveItem_afterScroll() {
+		updater.setScrollPosition(3, 0.5f);
+		updater.setActiveItem(10, false);
+
+		dots.checkOnlyActive(10);
+	}
+
+	@Test
+	public void testSettleScrollPosition() {
+		updater.setScrollPosition(3, 0.4f);
+		updater.settleScrollPosition();
+
+		dots.checkOnlyActive(3);
+	}
+
+	@Test
+	public void testOnItemInserted_beforeActiveItem() {
+		updater.setActiveItem(5, false);
+		dots.insert(2, false);
+		updater.onItemInserted(2);
+
+		assertEquals(6, updater.getActiveItemIndex());
+		assertEquals(NUMBER_OF_ITEMS + 1, updater.getNumberOfItems());
+		dots.checkOnlyActive(6);
+	}
+
+	@Test
+	public void testOnItemInserted_afterActiveItem() {
+		updater.setActiveItem(5, false);
+		dots.insert(6, false);
+		updater.onItemInserted(6);
+
+		assertEquals(5, updater.getActiveItemIndex());
+		dots.checkOnlyActive(5);
+	}
+
+	@Test
+	public void testOnItemInserted_intoEmptyIndicator() {
+		dots = new RecordingDots(0, 0);
+		updater = new DotUpdater(dots);
+		updater.reset(0, 0);
+
+		updater.onItemInserted(0);
+
+		assertEquals(0, updater.getActiveItemIndex());
+		assertEquals(1, updater.getNumberOfItems());
+	}
+
+	@Test
+	public void testOnItemInserted_duringScroll() {
+		updater.setScrollPosition(3, 0.4f);
+		updater.settleScrollPosition();
+		dots.insert(0, false);
+		updater.onItemInserted(0);
+
+		// The ViewPager reports the scroll relative to the new positions
+		updater.setScrollPosition(4, 0.6f);
+
+		assertEquals(5, updater.getActiveItemIndex());
+		assertEquals(0.4f, dots.fractions.get(4), 0.0001f);
+		assertEquals(0.6f, dots.fractions.get(5), 0f);
+		assertEquals(0f, dots.fractions.get(3), 0f);
+	}
+
+	@Test
+	public void testOnItemRemoved_beforeActiveItem() {
+		updater.setActiveItem(5, false);
+		dots.remove(2);
+		updater.onItemRemoved(2);
+
+		assertEquals(4, updater.getActiveItemIndex());
+		dots.checkOnlyActive(4);
+	}
+
+	@Test
+	public void testOnItemRemoved_activeItem() {
+		updater.setActiveItem(5, false);
+		dots.remove(5);
+		updater.onItemRemoved(5);
+
+		assertEquals(5, updater.getActiveItemIndex());
+		dots.checkOnlyActive(5);
+	}
+
+	@Test
+	public void testOnItemRemoved_lastActiveItem() {
+		updater.setActiveItem(NUMBER_OF_ITEMS - 1, false);
+		dots.remove(NUMBER_OF_ITEMS - 1);
+		updater.onItemRemoved(NUMBER_OF_ITEMS - 1);
+
+		assertEquals(NUMBER_OF_ITEMS - 2, updater.getActiveItemIndex());
+		dots.checkOnlyActive(NUMBER_OF_ITEMS - 2);
+	}
+
+	@Test
+	public void testOnItemRemoved_duringScroll() {
+		updater.setScrollPosition(3, 0.6f);
+		updater.settleScrollPosition();
+		dots.remove(0);
+		updater.onItemRemoved(0);
+
+		updater.setScrollPosition(2, 0.6f);
+
+		assertEquals(3, updater.getActiveItemIndex());
+		assertEquals(0.4f, dots.fractions.get(2), 0.0001f);
+		assertEquals(0.6f, dots.fractions.get(3), 0f);
+	}
+
+	/**
+	 * Records the state of each dot, where each dot is represented by its active fraction.
+	 */
+	private static final class RecordingDots implements DotUpdater.Dots {
+		/**
+		 * The active fraction of each dot.
+		 */
+		private final List<Float> fractions = new ArrayList<>();
+
+		/**
+		 * The number of updates received.
+		 */
+		private int updateCount = 0;
+
+		/**
+		 * Constructs a new {@code RecordingDots} instance.
+		 *
+		 * @param numberOfDots
+		 * 		the initial number of dots
+		 * @param activeIndex
+		 * 		the index of the initially active dot
+		 */
+		private RecordingDots(final int numberOfDots, final int activeIndex) {
+			for (int i = 0; i < numberOfDots; i++) {
+				fractions.add((i == activeIndex) ? 1f : 0f);
+			}
+		}
+
+		@Override
+		public void setActive(final int index, final boolean animate) {
+			fractions.set(index, 1f);
+			updateCount++;
+		}
+
+		@Override
+		public void setInactive(final int index, final boolean animate) {
+			fractions.set(index, 0f);
+			updateCount++;
+		}
+
+		@Override
+		public void setActiveFraction(final int index, final float activeFraction) {
+			fractions.set(index, activeFraction);
+			updateCount++;
+		}
+
+		/**
+		 * Inserts a dot, as {@link SelectionIndicator#insertItem(int)} does.
+		 *
+		 * @param index
+		 * 		the index to insert the dot at
+		 * @param active
+		 * 		whether the dot is active
+		 */
+		private void insert(final int index, final boolean active) {
+			fractions.add(index, active ? 1f : 0f);
+		}
+
+		/**
+		 * Removes a dot, as {@link SelectionIndicator#removeItem(int)} does.
+		 *
+		 * @param index
+		 * 		the index of the dot to remove
+		 */
+		private void remove(final int index) {
+			fractions.remove(index);
+		}
+
+		/**
+		 * Checks that only one dot is active, and that it is fully active.
+		 *
+		 * @param activeIndex
+		 * 		the index of the dot which should be active
+		 */
+		private void checkOnlyActive(final int activeIndex) {
+			for (int i = 0; i < fractions.size(); i++) {
+				assertEquals("active fraction of dot " + i, (i == activeIndex) ? 1f : 0f,
+						fractions.get(i), 0f);
+			}
+		}
+	}
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import org.hamcrest.Matcher;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link DurationHistogram}.
+ */
+public class DurationHistogramTest {
+	/**
+	 * The histogram under test.
+	 */
+	private DurationHistogram histogram;
+
+	@Before
+	public void setup() {
+		histogram = new DurationHistogram();
+	}
+
+	@Test
+	public void testEmpty() {
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getTotalNanos());
+		assertEquals(0, histogram.getMaxNanos());
+		assertEquals(0, histogram.getMeanNanos());
+		assertEquals(0, histogram.getPercentileNanos(50));
+		assertEquals(0, histogram.getCountAbove(0));
+	}
+
+	@Test
+	public void testRecord_updatesSummary() {
+		histogram.record(100);
+		histogram.record(300);
+		histogram.record(-50);
+
+		assertEquals(3, histogram.getCount());
+		assertEquals(400, histogram.getTotalNanos());
+		assertEquals(300, histogram.getMaxNanos());
+		assertEquals(133, histogram.getMeanNanos());
+	}
+
+	@Test
+	public void testReset() {
+		histogram.record(100);
+		histogram.reset();
+
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getMaxNanos());
+		assertEquals(0, histogram.getCountAbove(0));
+	}
+
+	@Test
+	public void testGetPercentileNanos_withinBucketError() {
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000L);
+		}
+
+		assertThat(histogram.getPercentileNanos(50), is(between(500000, 625000)));
+		assertThat(histogram.getPercentileNanos(99), is(between(990000, 1000000)));
+		assertEquals(1000000, histogram.getPercentileNanos(100));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetPercentileNanos_percentileTooLarge() {
+		histogram.getPercentileNanos(101);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testGetPercentileNanos_percentileNegative() {
+		histogram.getPercentileNanos(-1);
+	}
+
+	@Test
+	public void testGetCountAbove() {
+		histogram.record(1000000);
+		histogram.record(16000000);
+		histogram.record(40000000);
+
+		assertEquals(2, histogram.getCountAbove(8000000));
+		assertEquals(1, histogram.getCountAbove(20000000));
+		assertEquals(0, histogram.getCountAbove(50000000));
+	}
+
+	@Test
+	public void testBuckets_containTheirDurations() {
+		for (long duration = 0; duration < 100000; duration += 7) {
+			checkBucketContains(duration);
+		}
+
+		checkBucketContains(Long.MAX_VALUE);
+	}
+
+	/**
+	 * Checks that the bucket of a duration is bounded by the duration, and that the previous
+	 * bucket is not.
+	 *
+	 * @param duration
+	 * 		the duration to check
+	 */
+	private static void checkBucketContains(final long duration) {
+		final int index = DurationHistogram.getBucketIndex(duration);
+
+		assertThat(DurationHistogram.getBucketUpperBound(index),
+				is(greaterThanOrEqualTo(duration)));
+
+		if (index > 0) {
+			assertThat(DurationHistogram.getBucketUpperBound(index - 1), is(lessThan(duration)));
+		}
+	}
+
+	/**
+	 * Matches durations within a range.
+	 *
+	 * @param min
+	 * 		the smallest duration to match
+	 * @param max
+	 * 		the largest duration to match
+	 * @return the matcher
+	 */
+	private static Matcher<Long> between(final long min, final long max) {
+		return allOf(greaterThanOrEqualTo(min), lessThanOrEqualTo(max));
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.content.res.Resources;
+import android.util.TypedValue;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for the sample size calculation, equality and resource cache keys of {@link
+ * ImageSource}.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class ImageSourceTest {
+	@Test
+	public void testCalculateSampleSize_noRequestedSize() {
+		assertEquals(1, ImageSource.calculateSampleSize(4000, 3000, 0, 0));
+	}
+
+	@Test
+	public void testCalculateSampleSize_smallerThanRequested() {
+		assertEquals(1, ImageSource.calculateSampleSize(500, 400, 1000, 800));
+		assertEquals(1, ImageSource.calculateSampleSize(1000, 800, 1000, 800));
+	}
+
+	@Test
+	public void testCalculateSampleSize_usesLargestPowerOfTwoWithinRatio() {
+		assertEquals(2, ImageSource.calculateSampleSize(2000, 1600, 1000, 800));
+		assertEquals(2, ImageSource.calculateSampleSize(3900, 3120, 1000, 800));
+		assertEquals(4, ImageSource.calculateSampleSize(4000, 3200, 1000, 800));
+	}
+
+	@Test
+	public void testCalculateSampleSize_largestRatioDetermines() {
+		assertEquals(4, ImageSource.calculateSampleSize(4000, 800, 1000, 800));
+		assertEquals(4, ImageSource.calculateSampleSize(1000, 3200, 1000, 800));
+	}
+
+	@Test
+	public void testCalculateSampleSize_singleRequestedDimension() {
+		assertEquals(4, ImageSource.calculateSampleSize(4000, 3000, 1000, 0));
+		assertEquals(2, ImageSource.calculateSampleSize(4000, 3000, 0, 1500));
+	}
+
+	@Test
+	public void testEquals_sameCacheKey() {
+		final ImageSource source1 = createSource("resource:1");
+		final ImageSource source2 = createSource("resource:1");
+
+		assertEquals(source1, source2);
+		assertEquals(source1.hashCode(), source2.hashCode());
+	}
+
+	@Test
+	public void testEquals_differentCacheKeys() {
+		assertThat(createSource("resource:1"), is(not(createSource("resource:2"))));
+	}
+
+	@Test
+	public void testEquals_defaultCacheKey() {
+		final ImageSource source = createSource(null);
+
+		assertEquals(source, source);
+		assertThat(source, is(not(createSource(null))));
+		assertThat(source, is(not(createSource("resource:1"))));
+		assertThat(createSource("resource:1"), is(not(source)));
+	}
+
+	@Test
+	public void testFromResource_cacheKeyFollowsResolvedFile() {
+		final Resources resources = mock(Resources.class);
+		final ImageSource source = ImageSource.fromResource(resources, 1);
+
+		resolveResource(resources, "res/raw/image.png");
+		final Object portraitKey = source.getCacheKey();
+		final ImageSource otherSource = ImageSource.fromResource(resources, 1);
+
+		assertEquals(portraitKey, otherSource.getCacheKey());
+
+		resolveResource(resources, "res/raw-land/image.png");
+
+		assertThat(source.getCacheKey(), is(not(portraitKey)));
+	}
+
+	/**
+	 * Makes a mock {@code Resources} resolve every resource to the supplied file.
+	 *
+	 * @param resources
+	 * 		the mock resources
+	 * @param file
+	 * 		the path of the file
+	 */
+	private static void resolveResource(final Resources resources, final String file) {
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(final InvocationOnMock invocation) {
+				((TypedValue) invocation.getArguments()[1]).string = file;
+				return null;
+			}
+		}).when(resources).getValue(eq(1), any(TypedValue.class), anyBoolean());
+	}
+
+	/**
+	 * Creates a source which cannot be decoded.
+	 *
+	 * @param cacheKey
+	 * 		the cache key of the source, null to use the default cache key
+	 * @return the source
+	 */
+	private static ImageSource createSource(final Object cacheKey) {
+		return new ImageSource() {
+			@Override
+			protected InputStream openStream() throws IOException {
+				throw new IOException("not readable");
+			}
+
+			@Override
+			protected Object getCacheKey() {
+				return (cacheKey == null) ? super.getCacheKey() : cacheKey;
+			}
+		};
+	}
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.support.v4.view.ViewPager;
+import android.view.View;
+import android.view.View.MeasureSpec;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.util.ActivityController;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Drives {@link IntroActivity} through swipes and page changes, and checks that the page
+ * indicator stays consistent with the pages. Budgets are asserted on the views, allocations and
+ * page transformations of each frame, so that a change which reintroduces per-frame work fails
+ * the build.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class IntroActivityTest {
+	/**
+	 * The width of the simulated screen, measured in pixels.
+	 */
+	private static final int SCREEN_WIDTH_PX = 480;
+
+	/**
+	 * The height of the simulated screen, measured in pixels.
+	 */
+	private static final int SCREEN_HEIGHT_PX = 800;
+
+	/**
+	 * The number of frames used to scroll from one page to the next.
+	 */
+	private static final int FRAMES_PER_PAGE = 30;
+
+	/**
+	 * The number of round trips to swipe when measuring allocations.
+	 */
+	private static final int SWIPE_COUNT = 20;
+
+	@Test
+	public void testInsertPageBeforeCurrentPage_duringScroll() {
+		final TestIntroActivity activity = createActivity(3);
+		activity.viewPager.setCurrentItem(2, false);
+		startScroll(activity, 1, 0.5f);
+
+		// The ViewPager reports the scroll position of the shifted current page immediately
+		activity.pages.add(0, new TestPage());
+
+		assertEquals(3, activity.viewPager.getCurrentItem());
+		checkIndicatorMatchesPages(activity);
+
+		activity.onPageScrolled(2, 0.25f, 0);
+		assertEquals(2, activity.pageIndicator.getActiveItemIndex());
+	}
+
+	@Test
+	public void testInsertPageAfterCurrentPage_duringScroll() {
+		final TestIntroActivity activity = createActivity(3);
+		startScroll(activity, 0, 0.25f);
+
+		activity.pages.add(new TestPage());
+
+		assertEquals(0, activity.viewPager.getCurrentItem());
+		checkIndicatorMatchesPages(activity);
+
+		activity.onPageScrolled(0, 0.75f, 0);
+		assertEquals(1, activity.pageIndicator.getActiveItemIndex());
+	}
+
+	@Test
+	public void testRemovePageBeforeCurrentPage_duringScroll() {
+		final TestIntroActivity activity = createActivity(3);
+		activity.viewPager.setCurrentItem(2, false);
+		startScroll(activity, 1, 0.5f);
+
+		activity.pages.remove(0);
+
+		assertEquals(1, activity.viewPager.getCurrentItem());
+		checkIndicatorMatchesPages(activity);
+
+		activity.onPageScrolled(0, 0.25f, 0);
+		assertEquals(0, activity.pageIndicator.getActiveItemIndex());
+	}
+
+	@Test
+	public void testRemoveCurrentPage_duringScroll() {
+		final TestIntroActivity activity = createActivity(3);
+		activity.viewPager.setCurrentItem(2, false);
+		startScroll(activity, 1, 0.75f);
+
+		activity.pages.remove(2);
+
+		assertEquals(1, activity.viewPager.getCurrentItem());
+		checkIndicatorMatchesPages(activity);
+	}
+
+	@Test
+	public void testAddPages_duringScroll() {
+		final TestIntroActivity activity = createActivity(3);
+		startScroll(activity, 0, 0.5f);
+
+		activity.addPages(Arrays.asList(new TestPage(), new TestPage()));
+
+		assertEquals(5, activity.pageIndicator.getChildCount());
+		checkIndicatorMatchesPages(activity);
+	}
+
+	@Test
+	public void testPageUpdate_insertBeforeCurrentPage() {
+		final TestIntroActivity activity = createActivity(3);
+		activity.viewPager.setCurrentItem(2, false);
+		layOut(activity);
+
+		activity.beginPageUpdate();
+		activity.pages.add(0, new TestPage());
+		activity.pages.add(0, new TestPage());
+		activity.endPageUpdate();
+
+		assertEquals(4, activity.viewPager.getCurrentItem());
+		checkIndicatorMatchesPages(activity);
+	}
+
+	@Test
+	public void testSwipe_keepsIndicatorDots() {
+		final TestIntroActivity activity = createActivity(5);
+		layOut(activity);
+		final List<View> dots = getChildren(activity.pageIndicator);
+
+		swipe(activity, 0, 4);
+		swipe(activity, 4, 0);
+
+		assertEquals(5, activity.pageIndicator.getChildCount());
+
+		for (int i = 0; i < dots.size(); i++) {
+			assertThat(activity.pageIndicator.getChildAt(i),
+					is(sameInstance(dots.get(i))));
+		}
+	}
+
+	@Test
+	public void testSwipe_allocationsWithinBudget() {
+		final long bytesPerFrame = measureSwipeAllocations(createActivity(30), 0);
+
+		assertThat(bytesPerFrame, is(lessThanOrEqualTo(AllocationCounter.MAX_BYTES_PER_CALL)));
+	}
+
+	@Test
+	public void testSwipeAtLastPage_allocationsWithinBudget() {
+		final long bytesPerFrame = measureSwipeAllocations(createActivity(30), 28);
+
+		assertThat(bytesPerFrame, is(lessThanOrEqualTo(AllocationCounter.MAX_BYTES_PER_CALL)));
+	}
+
+	@Test
+	public void testDrag_transformsEachAttachedPageOncePerFrame() {
+		final TestIntroActivity activity = createActivity(5);
+		final CountingTransformer transformer = new CountingTransformer();
+		activity.setPageTransformer(false, transformer);
+		layOut(activity);
+
+		final int stepPx = SCREEN_WIDTH_PX / FRAMES_PER_PAGE;
+		activity.viewPager.beginFakeDrag();
+
+		for (int frame = 0; frame < FRAMES_PER_PAGE / 2; frame++) {
+			transformer.transformCount = 0;
+			activity.viewPager.fakeDragBy(-stepPx);
+
+			assertThat(transformer.transformCount, is(greaterThan(0)));
+			assertThat(transformer.transformCount,
+					is(lessThanOrEqualTo(activity.viewPager.getChildCount())));
+		}
+
+		activity.viewPager.endFakeDrag();
+	}
+
+	@Test
+	public void testUseCanvasPageIndicator() {
+		final TestIntroActivity activity = createActivity(5);
+		activity.viewPager.setCurrentItem(2, false);
+
+		activity.setUseCanvasPageIndicator(true);
+
+		assertThat(activity.getPageIndicator(), is(instanceOf(CanvasSelectionIndicator.class)));
+		assertThat(activity.findViewById(R.id.intro_activity_pageIndicator),
+				is(sameInstance((View) activity.getPageIndicator())));
+		assertThat(activity.pageIndicator.getParent(), is(nullValue()));
+		checkIndicatorMatchesPages(activity);
+
+		startScroll(activity, 1, 0.5f);
+		activity.pages.add(0, new TestPage());
+		checkIndicatorMatchesPages(activity);
+
+		activity.setUseCanvasPageIndicator(false);
+
+		assertThat(activity.getPageIndicator(), is(sameInstance((ItemIndicator) activity
+				.pageIndicator)));
+		assertThat(activity.findViewById(R.id.intro_activity_pageIndicator),
+				is(sameInstance((View) activity.pageIndicator)));
+		checkIndicatorMatchesPages(activity);
+	}
+
+	@Test
+	public void testUseCanvasPageIndicator_keepsAppearance() {
+		final TestIntroActivity activity = createActivity(5);
+		activity.pageIndicator.setActiveDotColor(Color.RED);
+		activity.pageIndicator.setInactiveDotDiameterPx(11);
+		activity.pageIndicator.setTransitionDurationMs(500);
+
+		activity.setUseCanvasPageIndicator(true);
+
+		final CanvasSelectionIndicator canvasIndicator =
+				(CanvasSelectionIndicator) activity.getPageIndicator();
+		assertEquals(Color.RED, canvasIndicator.getActiveDotColor());
+		assertEquals(11, canvasIndicator.getInactiveDotDiameterPx());
+		assertEquals(500, canvasIndicator.getTransitionDurationMs());
+
+		canvasIndicator.setActiveDotColor(Color.BLUE);
+		activity.setUseCanvasPageIndicator(false);
+
+		assertEquals(Color.BLUE, activity.pageIndicator.getActiveDotColor());
+		assertEquals(11, activity.pageIndicator.getInactiveDotDiameterPx());
+	}
+
+
+	@Test
+	public void testFinish_trimsReleasedImagesAndClearsPool() {
+		final ActivityController<TestIntroActivity> controller = Robolectric.buildActivity(
+				TestIntroActivity.class).withIntent(TestIntroActivity.createIntent(3)).setup();
+		final BitmapCache cache = BitmapCache.getDefault();
+		final ImageSource source = ImageSource.fromFile(new File("image.png"));
+		final Bitmap image = Bitmap.createBitmap(10, 10, Bitmap.Config.ARGB_8888);
+		BitmapPool.getDefault().put(image.copy(Bitmap.Config.ARGB_8888, true));
+		cache.release(cache.put(source, 10, 10, image));
+
+		assertThat(cache.getReleasedBytes(), is(greaterThan(0)));
+
+		controller.get().finish();
+		controller.pause().stop().destroy();
+
+		assertEquals(0, cache.getReleasedBytes());
+		assertEquals(0, BitmapPool.getDefault().getCurrentBytes());
+	}
+
+	/**
+	 * Creates, starts and lays out a new activity.
+	 *
+	 * @param numberOfPages
+	 * 		the number of pages to display
+	 * @return the activity
+	 */
+	private static TestIntroActivity createActivity(final int numberOfPages) {
+		final TestIntroActivity activity = Robolectric.buildActivity(TestIntroActivity.class)
+				.withIntent(TestIntroActivity.createIntent(numberOfPages)).setup().get();
+		layOut(activity);
+		return activity;
+	}
+
+	/**
+	 * Measures and lays out the views of an activity, so that its {@code ViewPager} instantiates
+	 * and positions its pages.
+	 *
+	 * @param activity
+	 * 		the activity to lay out
+	 */
+	private static void layOut(final IntroActivity activity) {
+		final View root = activity.getWindow().getDecorView();
+		root.measure(MeasureSpec.makeMeasureSpec(SCREEN_WIDTH_PX, MeasureSpec.EXACTLY),
+				MeasureSpec.makeMeasureSpec(SCREEN_HEIGHT_PX, MeasureSpec.EXACTLY));
+		root.layout(0, 0, SCREEN_WIDTH_PX, SCREEN_HEIGHT_PX);
+	}
+
+	/**
+	 * Simulates the start of a drag, as reported to the activity by its {@code ViewPager}.
+	 *
+	 * @param activity
+	 * 		the activity to scroll
+	 * @param position
+	 * 		the index of the first page displayed
+	 * @param positionOffset
+	 * 		how far the scroll has progressed towards the next page
+	 */
+	private static void startScroll(final IntroActivity activity, final int position,
+			final float positionOffset) {
+		layOut(activity);
+		activity.onPageScrollStateChanged(ViewPager.SCROLL_STATE_DRAGGING);
+		activity.onPageScrolled(position, positionOffset, (int) (positionOffset *
+				SCREEN_WIDTH_PX));
+	}
+
+	/**
+	 * Simulates swiping from one page to another, one page at a time, as reported to the activity
+	 * by its {@code ViewPager}.
+	 *
+	 * @param activity
+	 * 		the activity to swipe
+	 * @param from
+	 * 		the index of the page to start from
+	 * @param to
+	 * 		the index of the page to finish on
+	 */
+	private static void swipe(final IntroActivity activity, final int from, final int to) {
+		final int direction = (to > from) ? 1 : -1;
+
+		activity.onPageScrollStateChanged(ViewPager.SCROLL_STATE_DRAGGING);
+
+		for (int page = from; page != to; page += direction) {
+			final int position = Math.min(page, page + direction);
+
+			for (int frame = 0; frame <= FRAMES_PER_PAGE; frame++) {
+				final float progress = (float) frame / FRAMES_PER_PAGE;
+				final float offset = (direction > 0) ? progress : 1f - progress;
+
+				if (offset == 1f) {
+					activity.onPageScrolled(position + 1, 0f, 0);
+				} else {
+					activity.onPageScrolled(position, offset, (int) (offset * SCREEN_WIDTH_PX));
+				}
+			}
+
+			activity.onPageSelected(page + direction);
+		}
+
+		activity.onPageScrollStateChanged(ViewPager.SCROLL_STATE_IDLE);
+	}
+
+	/**
+	 * Measures the memory allocated by swiping back and forth between two consecutive pages of an
+	 * activity.
+	 *
+	 * @param activity
+	 * 		the activity to swipe
+	 * @param firstPage
+	 * 		the index of the first of the two pages, which is displayed before swiping
+	 * @return the memory allocated per call to {@code onPageScrolled}, measured in bytes
+	 */
+	private static long measureSwipeAllocations(final IntroActivity activity,
+			final int firstPage) {
+		activity.viewPager.setCurrentItem(firstPage, false);
+		layOut(activity);
+
+		return AllocationCounter.measureBytesPerCall(new Runnable() {
+			@Override
+			public void run() {
+				swipe(activity, firstPage, firstPage + 1);
+				swipe(activity, firstPage + 1, firstPage);
+			}
+		}, SWIPE_COUNT, 2 * (FRAMES_PER_PAGE + 1));
+	}
+
+	/**
+	 * Checks that the page indicator of an activity shows one dot per page, and that the current
+	 * page is active.
+	 *
+	 * @param activity
+	 * 		the activity to check
+	 */
+	private static void checkIndicatorMatchesPages(final IntroActivity activity) {
+		assertEquals(activity.adapter.getCount(), activity.getPageIndicator().getNumberOfItems());
+
+		if (!activity.getUseCanvasPageIndicator()) {
+			assertEquals(activity.adapter.getCount(), activity.pageIndicator.getChildCount());
+		}
+
+		assertEquals(activity.viewPager.getCurrentItem(),
+				activity.getPageIndicator().getActiveItemIndex());
+	}
+
+	/**
+	 * @param view
+	 * 		the view to get the children of
+	 * @return the current children of {@code view}, in order
+	 */
+	private static List<View> getChildren(final SelectionIndicator view) {
+		final List<View> children = new ArrayList<>();
+
+		for (int i = 0; i < view.getChildCount(); i++) {
+			children.add(view.getChildAt(i));
+		}
+
+		return children;
+	}
+
+	/**
+	 * Counts the pages it transforms.
+	 */
+	private static final class CountingTransformer implements ViewPager.PageTransformer {
+		/**
+		 * The number of pages transformed.
+		 */
+		private int transformCount = 0;
+
+		@Override
+		public void transformPage(final View page, final float position) {
+			transformCount++;
+		}
+	}
+}
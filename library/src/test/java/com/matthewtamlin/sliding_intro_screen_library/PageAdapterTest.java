@@ -0,0 +1,414 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.database.DataSetObserver;
+import android.os.Parcelable;
+import android.support.v4.app.FragmentActivity;
+import android.support.v4.app.FragmentManager;
+import android.support.v4.view.PagerAdapter;
+import android.widget.FrameLayout;
+
+import com.matthewtamlin.android_utilities_library.collections.ArrayListWithCallbacks;
+import com.matthewtamlin.android_utilities_library.collections.ArrayListWithCallbacks
+		.OnItemAddedListener;
+import com.matthewtamlin.android_utilities_library.collections.ArrayListWithCallbacks
+		.OnItemRemovedListener;
+import com.matthewtamlin.android_utilities_library.collections.ArrayListWithCallbacks
+		.OnListClearedListener;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the stable item IDs, batch updates and offscreen page destruction of {@link
+ * PageAdapter}.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class PageAdapterTest {
+	/**
+	 * The ID of the view which contains the pages.
+	 */
+	private static final int CONTAINER_ID = 1;
+
+	/**
+	 * The pages adapted by {@code adapter}, initially containing three pages.
+	 */
+	private ArrayListWithCallbacks<Page> pages;
+
+	/**
+	 * The adapter under test.
+	 */
+	private PageAdapter adapter;
+
+	/**
+	 * The view which contains the pages.
+	 */
+	private FrameLayout container;
+
+	/**
+	 * The fragment manager of the activity which hosts {@code container}.
+	 */
+	private FragmentManager fragmentManager;
+
+	/**
+	 * Counts the notifications sent by {@code adapter}.
+	 */
+	private CountingObserver observer;
+
+	@Before
+	public void setup() {
+		final FragmentActivity activity = Robolectric.setupActivity(FragmentActivity.class);
+
+		container = new FrameLayout(activity);
+		container.setId(CONTAINER_ID);
+		activity.setContentView(container);
+
+		pages = new ArrayListWithCallbacks<>();
+		pages.add(new TestPage());
+		pages.add(new TestPage());
+		pages.add(new TestPage());
+
+		fragmentManager = activity.getSupportFragmentManager();
+		adapter = new PageAdapter(fragmentManager, pages);
+		observer = new CountingObserver();
+		adapter.registerDataSetObserver(observer);
+	}
+
+	@Test
+	public void testGetItemId_stableWhenPageInsertedBefore() {
+		final long[] ids = getItemIds();
+
+		pages.add(0, new TestPage());
+
+		assertEquals(4, adapter.getCount());
+		assertEquals(ids[0], adapter.getItemId(1));
+		assertEquals(ids[1], adapter.getItemId(2));
+		assertEquals(ids[2], adapter.getItemId(3));
+		assertThat(adapter.getItemId(0), is(not(ids[0])));
+	}
+
+	@Test
+	public void testGetItemId_stableWhenPageRemoved() {
+		final long[] ids = getItemIds();
+
+		pages.remove(1);
+
+		assertEquals(2, adapter.getCount());
+		assertEquals(ids[0], adapter.getItemId(0));
+		assertEquals(ids[2], adapter.getItemId(1));
+	}
+
+	@Test
+	public void testGetItemId_notReusedAfterRemoval() {
+		final long[] ids = getItemIds();
+
+		pages.remove(2);
+		pages.add(new TestPage());
+
+		assertThat(adapter.getItemId(2), is(not(ids[2])));
+	}
+
+	@Test
+	public void testGetItemPosition_followsInsertedAndRemovedPages() {
+		adapter.startUpdate(container);
+		final Object item = adapter.instantiateItem(container, 1);
+		adapter.finishUpdate(container);
+
+		assertEquals(1, adapter.getItemPosition(item));
+
+		pages.add(0, new TestPage());
+		assertEquals(2, adapter.getItemPosition(item));
+
+		pages.remove(0);
+		assertEquals(1, adapter.getItemPosition(item));
+
+		pages.remove(1);
+		assertEquals(PagerAdapter.POSITION_NONE, adapter.getItemPosition(item));
+	}
+
+	@Test
+	public void testGetItemPosition_afterBatchAndClear() {
+		final Object first = instantiate(adapter, 0);
+		final Object last = instantiate(adapter, 2);
+
+		adapter.beginBatchUpdate();
+		pages.add(0, new TestPage());
+		pages.add(0, new TestPage());
+		pages.remove(3);
+		adapter.endBatchUpdate();
+
+		assertEquals(2, adapter.getItemPosition(first));
+		assertEquals(3, adapter.getItemPosition(last));
+
+		pages.clear();
+
+		assertEquals(PagerAdapter.POSITION_NONE, adapter.getItemPosition(first));
+		assertEquals(PagerAdapter.POSITION_NONE, adapter.getItemPosition(last));
+	}
+
+	@Test
+	public void testChangesWithoutBatch_notifyOncePerChange() {
+		pages.add(new TestPage());
+		pages.remove(0);
+
+		assertEquals(2, observer.changeCount);
+	}
+
+	@Test
+	public void testBatchUpdate_notifiesOnceWhenClosed() {
+		adapter.beginBatchUpdate();
+		pages.add(new TestPage());
+		pages.add(0, new TestPage());
+		pages.remove(1);
+
+		assertEquals(0, observer.changeCount);
+
+		adapter.endBatchUpdate();
+
+		assertEquals(1, observer.changeCount);
+		assertEquals(4, adapter.getCount());
+	}
+
+	@Test
+	public void testBatchUpdate_nested() {
+		adapter.beginBatchUpdate();
+		adapter.beginBatchUpdate();
+		pages.add(new TestPage());
+		adapter.endBatchUpdate();
+
+		assertEquals(0, observer.changeCount);
+		assertEquals(1, adapter.getBatchUpdateDepth());
+
+		adapter.endBatchUpdate();
+
+		assertEquals(1, observer.changeCount);
+		assertEquals(0, adapter.getBatchUpdateDepth());
+	}
+
+	@Test
+	public void testBatchUpdate_withoutChanges() {
+		adapter.beginBatchUpdate();
+		adapter.endBatchUpdate();
+
+		assertEquals(0, observer.changeCount);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testEndBatchUpdate_withoutBegin() {
+		adapter.endBatchUpdate();
+	}
+
+	@Test
+	public void testListChangeListener_calledBeforeObservers() {
+		final OrderCheckingListener listener = new OrderCheckingListener();
+		adapter.setListChangeListener(listener);
+
+		pages.add(0, new TestPage());
+		pages.remove(0);
+
+		assertEquals(2, listener.callCount);
+		assertEquals(2, observer.changeCount);
+	}
+
+	@Test
+	public void testDestroyOffscreenPages_restoresStateWhenPageReturns() {
+		final PageAdapter factoryAdapter = createFactoryAdapter(new ArrayListWithCallbacks
+				<PageFactory>());
+		factoryAdapter.setDestroyOffscreenPages(true);
+
+		final TestPage page = (TestPage) instantiate(factoryAdapter, 0);
+		page.savedValue = 42;
+		destroy(factoryAdapter, 0, page);
+
+		assertThat(page.isAdded(), is(false));
+
+		final TestPage restoredPage = (TestPage) instantiate(factoryAdapter, 0);
+
+		assertThat(restoredPage, is(not(sameInstance(page))));
+		assertThat(restoredPage.isAdded(), is(true));
+		assertEquals(42, restoredPage.savedValue);
+	}
+
+	@Test
+	public void testDestroyOffscreenPages_removeAndReaddInConsecutiveUpdates() {
+		adapter.setDestroyOffscreenPages(true);
+
+		final Object page = instantiate(adapter, 1);
+		destroy(adapter, 1, page);
+
+		assertThat(instantiate(adapter, 1), is(sameInstance(page)));
+		assertThat(pages.get(1).isAdded(), is(true));
+
+		destroy(adapter, 1, page);
+		assertThat(instantiate(adapter, 1), is(sameInstance(page)));
+	}
+
+	@Test
+	public void testDestroyOffscreenPages_saveAndRestoreState() {
+		final PageAdapter factoryAdapter = createFactoryAdapter(new ArrayListWithCallbacks
+				<PageFactory>());
+		factoryAdapter.setDestroyOffscreenPages(true);
+
+		final TestPage page = (TestPage) instantiate(factoryAdapter, 2);
+		page.savedValue = 7;
+		destroy(factoryAdapter, 2, page);
+
+		final Parcelable state = factoryAdapter.saveState();
+		assertThat(state, is(notNullValue()));
+
+		// A recreated adapter assigns the same item IDs to the recreated elements
+		final PageAdapter restoredAdapter = createFactoryAdapter(new ArrayListWithCallbacks
+				<PageFactory>());
+		restoredAdapter.setDestroyOffscreenPages(true);
+		restoredAdapter.restoreState(state, getClass().getClassLoader());
+
+		final TestPage restoredPage = (TestPage) instantiate(restoredAdapter, 2);
+		assertEquals(7, restoredPage.savedValue);
+	}
+
+	/**
+	 * Creates an adapter which adapts three factories of {@link TestPage} elements. The factories
+	 * are added after the adapter is created, so that they receive item IDs in order.
+	 *
+	 * @param factories
+	 * 		an empty list to add the factories to
+	 * @return the adapter
+	 */
+	private PageAdapter createFactoryAdapter(final ArrayListWithCallbacks<PageFactory> factories) {
+		final PageAdapter factoryAdapter = new PageAdapter(fragmentManager, null, factories);
+
+		for (int i = 0; i < 3; i++) {
+			factories.add(new PageFactory() {
+				@Override
+				public Page createPage() {
+					return new TestPage();
+				}
+			});
+		}
+
+		return factoryAdapter;
+	}
+
+	/**
+	 * Instantiates a page in a single update, as the {@code ViewPager} would.
+	 *
+	 * @param pageAdapter
+	 * 		the adapter to instantiate the page with
+	 * @param position
+	 * 		the position of the page
+	 * @return the instantiated page
+	 */
+	private Object instantiate(final PageAdapter pageAdapter, final int position) {
+		pageAdapter.startUpdate(container);
+		final Object item = pageAdapter.instantiateItem(container, position);
+		pageAdapter.finishUpdate(container);
+		return item;
+	}
+
+	/**
+	 * Destroys a page in a single update, as the {@code ViewPager} would when the page leaves the
+	 * offscreen page limit.
+	 *
+	 * @param pageAdapter
+	 * 		the adapter to destroy the page with
+	 * @param position
+	 * 		the position of the page
+	 * @param item
+	 * 		the page to destroy
+	 */
+	private void destroy(final PageAdapter pageAdapter, final int position, final Object item) {
+		pageAdapter.startUpdate(container);
+		pageAdapter.destroyItem(container, position, item);
+		pageAdapter.finishUpdate(container);
+	}
+
+	/**
+	 * @return the current item IDs of {@code adapter}, in order
+	 */
+	private long[] getItemIds() {
+		final long[] ids = new long[adapter.getCount()];
+
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = adapter.getItemId(i);
+		}
+
+		return ids;
+	}
+
+	/**
+	 * Counts the change notifications it receives.
+	 */
+	private static final class CountingObserver extends DataSetObserver {
+		/**
+		 * The number of change notifications received.
+		 */
+		private int changeCount = 0;
+
+		@Override
+		public void onChanged() {
+			changeCount++;
+		}
+	}
+
+	/**
+	 * Checks that each change is received before the observers of the adapter are notified.
+	 */
+	private final class OrderCheckingListener implements OnItemAddedListener,
+			OnItemRemovedListener, OnListClearedListener {
+		/**
+		 * The number of changes received.
+		 */
+		private int callCount = 0;
+
+		@Override
+		public void onItemAdded(final ArrayListWithCallbacks list, final Object itemAdded,
+				final int index) {
+			onChange();
+		}
+
+		@Override
+		public void onItemRemoved(final ArrayListWithCallbacks list, final Object itemRemoved,
+				final int index) {
+			onChange();
+		}
+
+		@Override
+		public void onListCleared(final ArrayListWithCallbacks list) {
+			onChange();
+		}
+
+		/**
+		 * Checks that the observers have been notified of every previous change only.
+		 */
+		private void onChange() {
+			assertEquals(callCount, observer.changeCount);
+			callCount++;
+		}
+	}
+}
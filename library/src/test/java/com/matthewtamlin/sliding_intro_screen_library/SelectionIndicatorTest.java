@@ -0,0 +1,265 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricGradleTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link SelectionIndicator}, including budgets on the views and allocations of each
+ * update so that updates cannot regress to rebuilding every dot.
+ */
+@RunWith(RobolectricGradleTestRunner.class)
+@Config(constants = BuildConfig.class, sdk = 21)
+public class SelectionIndicatorTest {
+	/**
+	 * The number of updates to make when measuring allocations.
+	 */
+	private static final int UPDATE_COUNT = 1000;
+
+	@Test
+	public void testSetNumberOfItems_createsOneDotPerItem() {
+		final SelectionIndicator indicator = createIndicator(5);
+
+		assertEquals(5, indicator.getChildCount());
+		assertEquals(0, indicator.getActiveItemIndex());
+	}
+
+	@Test
+	public void testSetActiveItem_keepsDots() {
+		final SelectionIndicator indicator = createIndicator(5);
+		final List<View> dots = getDots(indicator);
+
+		indicator.setActiveItem(3, false);
+		indicator.setActiveItem(1, true);
+
+		assertEquals(1, indicator.getActiveItemIndex());
+		checkDotsUnchanged(dots, indicator);
+	}
+
+	@Test
+	public void testSetScrollPosition_keepsDots() {
+		final SelectionIndicator indicator = createIndicator(5);
+		final List<View> dots = getDots(indicator);
+
+		for (int position = 0; position < 4; position++) {
+			for (float offset = 0f; offset < 1f; offset += 0.1f) {
+				indicator.setScrollPosition(position, offset);
+			}
+		}
+
+		assertEquals(4, indicator.getActiveItemIndex());
+		checkDotsUnchanged(dots, indicator);
+	}
+
+	@Test
+	public void testInsertItem_addsOneDot() {
+		final SelectionIndicator indicator = createIndicator(5);
+		final List<View> dots = getDots(indicator);
+
+		indicator.insertItem(2);
+
+		assertEquals(6, indicator.getChildCount());
+		assertThat(indicator.getChildAt(0), is(sameInstance(dots.get(0))));
+		assertThat(indicator.getChildAt(1), is(sameInstance(dots.get(1))));
+	}
+
+	@Test
+	public void testInsertItem_beforeActiveItem() {
+		final SelectionIndicator indicator = createIndicator(5);
+		indicator.setActiveItem(3, false);
+
+		indicator.insertItem(0);
+
+		assertEquals(4, indicator.getActiveItemIndex());
+	}
+
+	@Test
+	public void testInsertItem_afterActiveItem() {
+		final SelectionIndicator indicator = createIndicator(5);
+		indicator.setActiveItem(3, false);
+
+		indicator.insertItem(5);
+
+		assertEquals(3, indicator.getActiveItemIndex());
+	}
+
+	@Test
+	public void testInsertItem_intoEmptyIndicator() {
+		final SelectionIndicator indicator = createIndicator(0);
+
+		indicator.insertItem(0);
+
+		assertEquals(1, indicator.getChildCount());
+		assertEquals(0, indicator.getActiveItemIndex());
+	}
+
+	@Test
+	public void testInsertItem_duringScroll() {
+		final SelectionIndicator indicator = createIndicator(5);
+		indicator.setScrollPosition(3, 0.5f);
+
+		indicator.insertItem(0);
+		indicator.setScrollPosition(5, 0f);
+
+		assertEquals(6, indicator.getChildCount());
+		assertEquals(5, indicator.getActiveItemIndex());
+	}
+
+	@Test
+	public void testRemoveItem_removesOneDot() {
+		final SelectionIndicator indicator = createIndicator(5);
+		final List<View> dots = getDots(indicator);
+
+		indicator.removeItem(2);
+
+		assertEquals(4, indicator.getChildCount());
+		assertThat(indicator.getChildAt(2), is(sameInstance(dots.get(3))));
+	}
+
+	@Test
+	public void testRemoveItem_beforeActiveItem() {
+		final SelectionIndicator indicator = createIndicator(5);
+		indicator.setActiveItem(3, false);
+
+		indicator.removeItem(0);
+
+		assertEquals(2, indicator.getActiveItemIndex());
+	}
+
+	@Test
+	public void testRemoveItem_activeLastItem() {
+		final SelectionIndicator indicator = createIndicator(5);
+		indicator.setActiveItem(4, false);
+
+		indicator.removeItem(4);
+
+		assertEquals(3, indicator.getActiveItemIndex());
+	}
+
+	@Test
+	public void testRemoveItem_duringScroll() {
+		final SelectionIndicator indicator = createIndicator(5);
+		indicator.setScrollPosition(3, 0.5f);
+
+		indicator.removeItem(4);
+		indicator.setScrollPosition(3, 0f);
+
+		assertEquals(4, indicator.getChildCount());
+		assertEquals(3, indicator.getActiveItemIndex());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testRemoveItem_indexTooLarge() {
+		createIndicator(5).removeItem(5);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInsertItem_indexTooLarge() {
+		createIndicator(5).insertItem(6);
+	}
+
+	@Test
+	public void testSetActiveItem_allocationsWithinBudget() {
+		final SelectionIndicator indicator = createIndicator(30);
+
+		final long bytesPerCall = AllocationCounter.measureBytesPerCall(new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < UPDATE_COUNT; i++) {
+					indicator.setActiveItem(i % 2, false);
+				}
+			}
+		}, 1, UPDATE_COUNT);
+
+		assertThat(bytesPerCall, is(lessThanOrEqualTo(AllocationCounter.MAX_BYTES_PER_CALL)));
+	}
+
+	@Test
+	public void testSetScrollPosition_allocationsWithinBudget() {
+		final SelectionIndicator indicator = createIndicator(30);
+
+		final long bytesPerCall = AllocationCounter.measureBytesPerCall(new Runnable() {
+			@Override
+			public void run() {
+				for (int i = 0; i < UPDATE_COUNT; i++) {
+					indicator.setScrollPosition(0, (i % 100) / 100f);
+				}
+			}
+		}, 1, UPDATE_COUNT);
+
+		assertThat(bytesPerCall, is(lessThanOrEqualTo(AllocationCounter.MAX_BYTES_PER_CALL)));
+	}
+
+	/**
+	 * Creates a new indicator.
+	 *
+	 * @param numberOfItems
+	 * 		the number of items the indicator represents
+	 * @return the indicator
+	 */
+	private static SelectionIndicator createIndicator(final int numberOfItems) {
+		final SelectionIndicator indicator = new SelectionIndicator(RuntimeEnvironment.application);
+		indicator.setNumberOfItems(numberOfItems);
+		return indicator;
+	}
+
+	/**
+	 * @param indicator
+	 * 		the indicator to get the dots of
+	 * @return the current dots of {@code indicator}, in order
+	 */
+	private static List<View> getDots(final SelectionIndicator indicator) {
+		final List<View> dots = new ArrayList<>();
+
+		for (int i = 0; i < indicator.getChildCount(); i++) {
+			dots.add(indicator.getChildAt(i));
+		}
+
+		return dots;
+	}
+
+	/**
+	 * Checks that an indicator still contains the same dots, in the same order.
+	 *
+	 * @param expectedDots
+	 * 		the dots the indicator should contain
+	 * @param indicator
+	 * 		the indicator to check
+	 */
+	private static void checkDotsUnchanged(final List<View> expectedDots,
+			final SelectionIndicator indicator) {
+		assertEquals(expectedDots.size(), indicator.getChildCount());
+
+		for (int i = 0; i < expectedDots.size(); i++) {
+			assertThat(indicator.getChildAt(i), is(sameInstance(expectedDots.get(i))));
+		}
+	}
+}
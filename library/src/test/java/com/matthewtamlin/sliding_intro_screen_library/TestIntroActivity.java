@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.content.Intent;
+
+/**
+ * An {@link IntroActivity} which displays a number of {@link TestPage} elements, for use in tests.
+ * The number of pages is supplied in the starting intent.
+ */
+public class TestIntroActivity extends IntroActivity {
+	/**
+	 * The key of the intent extra which contains the number of pages to generate.
+	 */
+	public static final String EXTRA_NUMBER_OF_PAGES = "numberOfPages";
+
+	/**
+	 * The number of pages generated if the starting intent does not specify a number.
+	 */
+	private static final int DEFAULT_NUMBER_OF_PAGES = 3;
+
+	/**
+	 * Creates an intent which starts a {@code TestIntroActivity} with the supplied number of
+	 * pages. The intent has no component, since it is only used by Robolectric.
+	 *
+	 * @param numberOfPages
+	 * 		the number of pages to generate
+	 * @return the intent
+	 */
+	public static Intent createIntent(final int numberOfPages) {
+		return new Intent().putExtra(EXTRA_NUMBER_OF_PAGES, numberOfPages);
+	}
+
+	@Override
+	protected void generatePages() {
+		final int numberOfPages = getIntent().getIntExtra(EXTRA_NUMBER_OF_PAGES,
+				DEFAULT_NUMBER_OF_PAGES);
+
+		for (int i = 0; i < numberOfPages; i++) {
+			pages.add(new TestPage());
+		}
+	}
+
+	@Override
+	protected void progressToNextActivity() {
+		finish();
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+/**
+ * A {@link Page} with an empty view and a single saved value, for use in tests.
+ */
+public class TestPage extends Page {
+	/**
+	 * Key used to save and restore {@code savedValue}.
+	 */
+	private static final String STATE_KEY_SAVED_VALUE = "savedValue";
+
+	/**
+	 * A value which is saved and restored with the state of this page.
+	 */
+	public int savedValue = 0;
+
+	@Override
+	public void onCreate(final Bundle savedInstanceState) {
+		super.onCreate(savedInstanceState);
+
+		if (savedInstanceState != null) {
+			savedValue = savedInstanceState.getInt(STATE_KEY_SAVED_VALUE);
+		}
+	}
+
+	@Override
+	public void onSaveInstanceState(final Bundle outState) {
+		super.onSaveInstanceState(outState);
+		outState.putInt(STATE_KEY_SAVED_VALUE, savedValue);
+	}
+
+	@Override
+	public View onCreateView(final LayoutInflater inflater, final ViewGroup container,
+			final Bundle savedInstanceState) {
+		return new FrameLayout(inflater.getContext());
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016 Matthew Tamlin
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.matthewtamlin.sliding_intro_screen_library;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for {@link TransitionMath}.
+ */
+public class TransitionMathTest {
+	@Test
+	public void testGetAnimatedFraction_atStartAndEnd() {
+		assertEquals(0f, TransitionMath.getAnimatedFraction(0, 200), 0f);
+		assertEquals(0.5f, TransitionMath.getAnimatedFraction(100, 200), 0.0001f);
+		assertEquals(1f, TransitionMath.getAnimatedFraction(200, 200), 0f);
+	}
+
+	@Test
+	public void testGetAnimatedFraction_outOfRange() {
+		assertEquals(0f, TransitionMath.getAnimatedFraction(-10, 200), 0f);
+		assertEquals(1f, TransitionMath.getAnimatedFraction(250, 200), 0f);
+		assertEquals(1f, TransitionMath.getAnimatedFraction(0, 0), 0f);
+	}
+
+	@Test
+	public void testGetAnimatedFraction_increasesThroughoutTransition() {
+		float previousFraction = 0f;
+
+		for (int playTime = 1; playTime <= 200; playTime++) {
+			final float fraction = TransitionMath.getAnimatedFraction(playTime, 200);
+			assertThat(fraction, is(greaterThan(previousFraction)));
+			previousFraction = fraction;
+		}
+	}
+
+	@Test
+	public void testInterpolate() {
+		assertEquals(0.25f, TransitionMath.interpolate(0.25f, 0.75f, 0f), 0f);
+		assertEquals(0.5f, TransitionMath.interpolate(0.25f, 0.75f, 0.5f), 0f);
+		assertEquals(0.25f, TransitionMath.interpolate(0.75f, 0.25f, 1f), 0f);
+	}
+}
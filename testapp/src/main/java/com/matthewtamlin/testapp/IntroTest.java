@@ -1,12 +1,12 @@
 package com.matthewtamlin.testapp;
 
 import android.content.Intent;
-import android.graphics.Bitmap;
 import android.os.Bundle;
 
-import com.matthewtamlin.android_utilities_library.helpers.BitmapHelper;
-import com.matthewtamlin.android_utilities_library.helpers.ScreenSizeHelper;
+import com.matthewtamlin.sliding_intro_screen_library.ImageSource;
 import com.matthewtamlin.sliding_intro_screen_library.IntroActivity;
+import com.matthewtamlin.sliding_intro_screen_library.Page;
+import com.matthewtamlin.sliding_intro_screen_library.PageFactory;
 import com.matthewtamlin.sliding_intro_screen_library.ParallaxPage;
 import com.matthewtamlin.sliding_intro_screen_library.ParallaxTransformer;
 
@@ -16,26 +16,28 @@ public class IntroTest extends IntroActivity {
 	@Override
 	protected void onCreate(Bundle savedInstanceState) {
 		super.onCreate(savedInstanceState);
-		transformer = new ParallaxTransformer();
-		viewPager.setPageTransformer(false, transformer);
+		setPageTransformer(false, new ParallaxTransformer());
 	}
 
 	@Override
 	public void generatePages() {
-		int width = ScreenSizeHelper.getScreenWidth(getWindowManager());
-		int height = ScreenSizeHelper.getScreenHeight(getWindowManager());
-
-		Bitmap frontDots = BitmapHelper
-				.decodeSampledBitmapFromResource(getResources(), R.raw.front, width, height);
-		Bitmap backDots = BitmapHelper
-				.decodeSampledBitmapFromResource(getResources(), R.raw.back, width, height);
+		final ImageSource frontDots = ImageSource.fromResource(getResources(), R.raw.front);
+		final ImageSource backDots = ImageSource.fromResource(getResources(), R.raw.back);
 
+		// Each page is only created when it is first displayed
 		for (int pageNumber = 0; pageNumber < colors.length; pageNumber++) {
-			ParallaxPage newPage = ParallaxPage.newInstance();
-			newPage.setDesiredBackgroundColor(colors[pageNumber]);
-			newPage.setFrontImage(frontDots);
-			newPage.setBackImage(backDots);
-			pages.add(pageNumber, newPage);
+			PageFactory newPageFactory = new PageFactory() {
+				@Override
+				public Page createPage() {
+					ParallaxPage newPage = ParallaxPage.newInstance();
+					newPage.setFrontImage(frontDots);
+					newPage.setBackImage(backDots);
+					return newPage;
+				}
+			};
+
+			newPageFactory.setDesiredBackgroundColor(colors[pageNumber]);
+			pageFactories.add(pageNumber, newPageFactory);
 		}
 	}
 